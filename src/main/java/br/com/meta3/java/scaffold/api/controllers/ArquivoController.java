@@ -1,16 +1,27 @@
 package br.com.meta3.java.scaffold.api.controllers;
 
 import br.com.meta3.java.scaffold.api.dtos.ArquivoDTO;
+import br.com.meta3.java.scaffold.api.dtos.ArquivoTotaisDTO;
 import br.com.meta3.java.scaffold.api.dtos.ListArquivosRequestDTO;
+import br.com.meta3.java.scaffold.api.events.ArquivoEventBroadcaster;
 import br.com.meta3.java.scaffold.application.services.ArquivoService;
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.services.ArquivoUploadService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,9 +34,15 @@ import java.util.stream.Collectors;
 public class ArquivoController {
 
     private final ArquivoService arquivoService;
+    private final ArquivoUploadService arquivoUploadService;
+    private final ArquivoEventBroadcaster arquivoEventBroadcaster;
 
-    public ArquivoController(ArquivoService arquivoService) {
+    public ArquivoController(ArquivoService arquivoService,
+                             ArquivoUploadService arquivoUploadService,
+                             ArquivoEventBroadcaster arquivoEventBroadcaster) {
         this.arquivoService = arquivoService;
+        this.arquivoUploadService = arquivoUploadService;
+        this.arquivoEventBroadcaster = arquivoEventBroadcaster;
     }
 
     /**
@@ -50,4 +67,59 @@ public class ArquivoController {
                 .map(ArquivoDTO::fromEntity)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * GET  /arquivos/totais : Sum the counters of a school's arquivos within a date range.
+     *
+     * @param requestDTO the filtering criteria bound from query parameters
+     * @return the totals for the period
+     */
+    @GetMapping("/totais")
+    public ArquivoTotaisDTO totalizeArquivos(
+            @Valid
+            @ModelAttribute ListArquivosRequestDTO requestDTO) {
+        return ArquivoTotaisDTO.fromEntity(
+                requestDTO.getCodigoEscola(),
+                arquivoService.totalsBySchoolAndDateRange(
+                        requestDTO.getCodigoEscola(),
+                        requestDTO.getInicialData(),
+                        requestDTO.getFinalData()
+                )
+        );
+    }
+
+    /**
+     * POST /arquivos/upload : Receive a student file and compute its statistics.
+     * The raw request body is the file itself, so it is streamed instead of buffered
+     * like a multipart part would be.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param nomeArquivo  the original file name
+     * @param conteudo     the request body stream
+     * @return the created ArquivoDTO with its counters
+     */
+    @PostMapping(value = "/upload", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @ResponseStatus(HttpStatus.CREATED)
+    public ArquivoDTO uploadArquivo(
+            @RequestParam Long codigoEscola,
+            @RequestParam String nomeArquivo,
+            InputStream conteudo) {
+        return ArquivoDTO.fromEntity(arquivoUploadService.upload(codigoEscola, nomeArquivo, conteudo));
+    }
+
+    /**
+     * GET  /arquivos/eventos : Subscribe to new or updated arquivos of a school as Server-Sent Events.
+     * Replaces polling GET /arquivos; reconnecting clients send Last-Event-ID to resume.
+     * A "reset" event means events were missed: reload through GET /arquivos, then listen again.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param lastEventId  the last event id received, sent automatically by EventSource on reconnect
+     * @return the SSE stream of ArquivoDTO events
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeArquivos(
+            @RequestParam Long codigoEscola,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return arquivoEventBroadcaster.subscribe(codigoEscola, lastEventId);
+    }
 }
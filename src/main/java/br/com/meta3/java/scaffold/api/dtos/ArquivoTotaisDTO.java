@@ -0,0 +1,98 @@
+package br.com.meta3.java.scaffold.api.dtos;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoTotais;
+import java.util.Objects;
+
+/**
+ * DTO for the summed Arquivo counters of a school over a date range.
+ */
+public class ArquivoTotaisDTO {
+
+    private Long codigoEscola;
+    private Integer arquivos;
+    private Long quantidadeRegistro;
+    private Long aptos;
+    private Long semDocumento;
+    private Long comCodigoSetps;
+    private Long comErro;
+
+    public ArquivoTotaisDTO() {
+    }
+
+    public Long getCodigoEscola() {
+        return codigoEscola;
+    }
+
+    public void setCodigoEscola(Long codigoEscola) {
+        this.codigoEscola = codigoEscola;
+    }
+
+    public Integer getArquivos() {
+        return arquivos;
+    }
+
+    public void setArquivos(Integer arquivos) {
+        this.arquivos = arquivos;
+    }
+
+    public Long getQuantidadeRegistro() {
+        return quantidadeRegistro;
+    }
+
+    public void setQuantidadeRegistro(Long quantidadeRegistro) {
+        this.quantidadeRegistro = quantidadeRegistro;
+    }
+
+    public Long getAptos() {
+        return aptos;
+    }
+
+    public void setAptos(Long aptos) {
+        this.aptos = aptos;
+    }
+
+    public Long getSemDocumento() {
+        return semDocumento;
+    }
+
+    public void setSemDocumento(Long semDocumento) {
+        this.semDocumento = semDocumento;
+    }
+
+    public Long getComCodigoSetps() {
+        return comCodigoSetps;
+    }
+
+    public void setComCodigoSetps(Long comCodigoSetps) {
+        this.comCodigoSetps = comCodigoSetps;
+    }
+
+    public Long getComErro() {
+        return comErro;
+    }
+
+    public void setComErro(Long comErro) {
+        this.comErro = comErro;
+    }
+
+    /**
+     * Factory method to create ArquivoTotaisDTO from the domain totals.
+     * @param codigoEscola the school the totals refer to
+     * @param totais       the source totals
+     * @return populated ArquivoTotaisDTO or null if source is null
+     */
+    public static ArquivoTotaisDTO fromEntity(Long codigoEscola, ArquivoTotais totais) {
+        if (Objects.isNull(totais)) {
+            return null;
+        }
+        ArquivoTotaisDTO dto = new ArquivoTotaisDTO();
+        dto.setCodigoEscola(codigoEscola);
+        dto.setArquivos(totais.arquivos());
+        dto.setQuantidadeRegistro(totais.quantidadeRegistro());
+        dto.setAptos(totais.aptos());
+        dto.setSemDocumento(totais.semDocumento());
+        dto.setComCodigoSetps(totais.comCodigoSetps());
+        dto.setComErro(totais.comErro());
+        return dto;
+    }
+}
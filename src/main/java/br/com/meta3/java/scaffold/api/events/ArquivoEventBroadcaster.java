@@ -0,0 +1,376 @@
+package br.com.meta3.java.scaffold.api.events;
+
+import br.com.meta3.java.scaffold.api.dtos.ArquivoDTO;
+import br.com.meta3.java.scaffold.domain.events.ArquivoSavedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Fans out saved arquivos to Server-Sent Events subscribers, one channel per school.
+ * <p>
+ * Each event is serialized once and offered to every subscriber's bounded buffer; a subscriber
+ * whose buffer overflows is evicted. Channels keep a short history (bounded by size and age) so
+ * clients reconnecting with Last-Event-ID receive what they missed. Whenever that cannot be
+ * guaranteed (slow consumer, replay larger than the buffer, resume point older than the history,
+ * id from a previous process) the client receives a {@value #RESET_EVENT} event carrying the
+ * current id and must reload through GET /arquivos before listening again.
+ * <p>
+ * Event ids have the form {@code <bootId>-<sequence>} so ids issued before a restart are recognized.
+ * Channels exist only while they have subscribers or retained history.
+ * The periodic sweep also sends every subscriber a comment heartbeat, so dead clients are
+ * detected without waiting for an upload and idle proxies keep the stream open.
+ */
+@Component
+public class ArquivoEventBroadcaster {
+
+    static final String EVENT_NAME = "arquivo";
+    static final String RESET_EVENT = "reset";
+    static final String HEARTBEAT_COMMENT = "keep-alive";
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivoEventBroadcaster.class);
+
+    private final ObjectMapper objectMapper;
+    private final int subscriberBuffer;
+    private final int historySize;
+    private final long historyTtlMillis;
+    private final long timeoutMillis;
+    private final LongSupplier clock;
+
+    private final Map<Long, SchoolChannel> channels = new ConcurrentHashMap<>();
+    private final String bootId;
+    // Global so ids stay unique and increasing across schools; only assigned inside a channel's compute
+    private final AtomicLong sequence = new AtomicLong();
+    // Sends block on slow sockets, so they run on virtual threads instead of the publisher
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ArquivoEventBroadcaster(
+        ObjectMapper objectMapper,
+        @Value("${app.events.subscriber-buffer:64}") int subscriberBuffer,
+        @Value("${app.events.history-size:256}") int historySize,
+        @Value("${app.events.history-ttl-ms:300000}") long historyTtlMillis,
+        @Value("${app.events.timeout-ms:1800000}") long timeoutMillis
+    ) {
+        this(objectMapper, subscriberBuffer, historySize, historyTtlMillis, timeoutMillis, System::currentTimeMillis);
+    }
+
+    ArquivoEventBroadcaster(ObjectMapper objectMapper, int subscriberBuffer, int historySize,
+                            long historyTtlMillis, long timeoutMillis, LongSupplier clock) {
+        if (subscriberBuffer <= 0 || historySize < 0 || historyTtlMillis < 0) {
+            throw new IllegalArgumentException(
+                "Event subscriber buffer must be positive, history size and TTL non-negative");
+        }
+        this.objectMapper = objectMapper;
+        this.subscriberBuffer = subscriberBuffer;
+        this.historySize = historySize;
+        this.historyTtlMillis = historyTtlMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.clock = clock;
+        this.bootId = Long.toString(clock.getAsLong(), 36);
+    }
+
+    /**
+     * Opens a subscription to the arquivos of a school.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param lastEventId  Last-Event-ID sent by a reconnecting client, or null for a new subscription
+     * @return the emitter bound to the HTTP response
+     */
+    public SseEmitter subscribe(Long codigoEscola, String lastEventId) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, subscriberBuffer);
+        long resumeFrom = parseEventId(lastEventId);
+
+        AtomicBoolean accepted = new AtomicBoolean();
+        channels.compute(codigoEscola, (key, channel) -> {
+            SchoolChannel target = channel != null ? channel : new SchoolChannel(sequence.get());
+            target.expire(clock.getAsLong());
+            accepted.set(target.add(subscriber, lastEventId == null, resumeFrom));
+            subscriber.channel = target;
+            return target;
+        });
+
+        emitter.onCompletion(() -> subscriber.channel.remove(subscriber));
+        emitter.onTimeout(() -> subscriber.channel.remove(subscriber));
+        emitter.onError(ex -> subscriber.channel.remove(subscriber));
+
+        if (accepted.get()) {
+            schedule(subscriber);
+        } else {
+            reset(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes a saved arquivo to the subscribers of its school. Schools without a channel
+     * (nobody listening, no retained history) are skipped.
+     *
+     * @param event the saved arquivo
+     */
+    @EventListener
+    public void onArquivoSaved(ArquivoSavedEvent event) {
+        ArquivoDTO dto = ArquivoDTO.fromEntity(event.arquivo());
+        if (dto == null || dto.getCodigoEscola() == null || !channels.containsKey(dto.getCodigoEscola())) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException ex) {
+            // Runs in the upload's afterCommit: throwing would fail a committed upload and could
+            // keep other listeners (the summary index) from seeing the event
+            log.warn("Skipping SSE event for arquivo {}: serialization failed", dto.getId(), ex);
+            return;
+        }
+
+        List<Subscriber> accepted = new ArrayList<>();
+        List<Subscriber> evicted = new ArrayList<>();
+        channels.computeIfPresent(dto.getCodigoEscola(), (key, channel) -> {
+            long now = clock.getAsLong();
+            channel.publish(new Event(sequence.incrementAndGet(), json, now), accepted, evicted);
+            channel.expire(now);
+            return channel;
+        });
+        accepted.forEach(this::schedule);
+        evicted.forEach(this::reset);
+    }
+
+    /**
+     * Drops expired history, removes channels left without subscribers or history and sends
+     * a heartbeat to every remaining subscriber. The interval must stay below the idle timeout
+     * of any proxy in front of the application.
+     */
+    @Scheduled(fixedDelayString = "${app.events.sweep-interval-ms:30000}")
+    public void sweep() {
+        long now = clock.getAsLong();
+        for (Long codigoEscola : channels.keySet()) {
+            channels.computeIfPresent(codigoEscola, (key, channel) -> {
+                channel.expire(now);
+                return channel.isUnused() ? null : channel;
+            });
+        }
+        for (SchoolChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                // Sent by the subscriber's own sender, so it never interleaves with an event
+                subscriber.heartbeatDue.set(true);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Number of open subscriptions for a school.
+     *
+     * @param codigoEscola the identifier of the school
+     * @return active subscriber count
+     */
+    public int subscriberCount(Long codigoEscola) {
+        SchoolChannel channel = channels.get(codigoEscola);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    /**
+     * @return number of schools currently holding a channel
+     */
+    int channelCount() {
+        return channels.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private String formatEventId(long id) {
+        return bootId + "-" + id;
+    }
+
+    /**
+     * @return the sequence part of an id issued by this process, or -1 if it cannot be trusted
+     */
+    private long parseEventId(String eventId) {
+        if (eventId == null) {
+            return -1;
+        }
+        int separator = eventId.lastIndexOf('-');
+        if (separator <= 0 || !bootId.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            long id = Long.parseLong(eventId.substring(separator + 1));
+            return id <= sequence.get() ? id : -1;
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Event event;
+            while (!subscriber.evicted.get() && (event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                    .id(formatEventId(event.id()))
+                    .name(EVENT_NAME)
+                    .data(event.json(), MediaType.APPLICATION_JSON));
+            }
+            if (!subscriber.evicted.get() && subscriber.heartbeatDue.getAndSet(false)) {
+                subscriber.emitter.send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away or emitter already completed
+            subscriber.channel.remove(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event or heartbeat may have arrived after the last check but before the flag was cleared
+        if (!subscriber.evicted.get() && (!subscriber.buffer.isEmpty() || subscriber.heartbeatDue.get())) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Tells the client its stream has a gap, then closes it. The reset carries the current id,
+     * so the reconnect that follows starts from now instead of replaying again.
+     */
+    private void reset(Subscriber subscriber) {
+        subscriber.evicted.set(true);
+        subscriber.buffer.clear();
+        String currentId = formatEventId(sequence.get());
+        senders.execute(() -> {
+            try {
+                subscriber.emitter.send(SseEmitter.event()
+                    .id(currentId)
+                    .name(RESET_EVENT)
+                    .data("reload"));
+                subscriber.emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                subscriber.emitter.completeWithError(ex);
+            }
+        });
+    }
+
+    private record Event(long id, String json, long publishedAt) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private volatile SchoolChannel channel;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    /**
+     * Shared event source of one school. Mutated only inside channels.compute for its key,
+     * apart from subscriber removal which the copy-on-write list makes safe.
+     */
+    private final class SchoolChannel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Deque<Event> history = new ArrayDeque<>();
+        // Events with id <= watermark may be missing from history (expired or before the channel existed)
+        private long watermark;
+
+        private SchoolChannel(long watermark) {
+            this.watermark = watermark;
+        }
+
+        /**
+         * Registers a subscriber, replaying retained events after resumeFrom.
+         *
+         * @return false if the client must reset: untrusted id, gap before the history, or a
+         *         replay that does not fit in the subscriber buffer
+         */
+        boolean add(Subscriber subscriber, boolean fresh, long resumeFrom) {
+            if (!fresh) {
+                if (resumeFrom < 0 || resumeFrom < watermark) {
+                    return false;
+                }
+                for (Event event : history) {
+                    if (event.id() > resumeFrom && !subscriber.buffer.offer(event)) {
+                        return false;
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+            return true;
+        }
+
+        void remove(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        void publish(Event event, List<Subscriber> accepted, List<Subscriber> evicted) {
+            if (historySize > 0) {
+                history.addLast(event);
+            } else {
+                watermark = event.id();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.buffer.offer(event)) {
+                    accepted.add(subscriber);
+                } else {
+                    // Slow consumer: evict so one client cannot hold events for everybody
+                    subscribers.remove(subscriber);
+                    evicted.add(subscriber);
+                }
+            }
+        }
+
+        void expire(long now) {
+            while (!history.isEmpty()
+                    && (history.size() > historySize || history.peekFirst().publishedAt() < now - historyTtlMillis)) {
+                watermark = Math.max(watermark, history.removeFirst().id());
+            }
+        }
+
+        boolean isUnused() {
+            return subscribers.isEmpty() && history.isEmpty();
+        }
+    }
+}
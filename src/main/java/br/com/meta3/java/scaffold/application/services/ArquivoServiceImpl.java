@@ -1,8 +1,10 @@
 package br.com.meta3.java.scaffold.application.services;
 
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoTotais;
 import br.com.meta3.java.scaffold.domain.repositories.ArquivoRepository;
 import br.com.meta3.java.scaffold.domain.services.ArquivoService;
+import br.com.meta3.java.scaffold.infrastructure.repositories.ArquivoSummaryIndex;
 import br.com.meta3.java.scaffold.infrastructure.repositories.SQLExecutor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
@@ -18,11 +20,14 @@ public class ArquivoServiceImpl implements ArquivoService {
 
     private final ArquivoRepository arquivoRepository;
     private final SQLExecutor sqlExecutor;
+    private final ArquivoSummaryIndex arquivoSummaryIndex;
 
     public ArquivoServiceImpl(ArquivoRepository arquivoRepository,
-                              SQLExecutor sqlExecutor) {
+                              SQLExecutor sqlExecutor,
+                              ArquivoSummaryIndex arquivoSummaryIndex) {
         this.arquivoRepository = arquivoRepository;
         this.sqlExecutor = sqlExecutor;
+        this.arquivoSummaryIndex = arquivoSummaryIndex;
     }
 
     @Override
@@ -37,6 +42,26 @@ public class ArquivoServiceImpl implements ArquivoService {
         return arquivoRepository.listBySchoolAndDateRange(codigoEscola, inicialData, finalData);
     }
 
+    /**
+     * Answered from the in-memory summary index without touching the database once it is loaded;
+     * until then (startup, or the initial load failed) the database aggregates instead.
+     */
+    @Override
+    public ArquivoTotais totalsBySchoolAndDateRange(Long codigoEscola,
+                                                    LocalDate inicialData,
+                                                    LocalDate finalData) {
+        if (codigoEscola == null || inicialData == null || finalData == null) {
+            throw new IllegalArgumentException("School code, start date and end date must be provided");
+        }
+        if (inicialData.isAfter(finalData)) {
+            throw new IllegalArgumentException("Start date must be on or before end date");
+        }
+        if (!arquivoSummaryIndex.isLoaded()) {
+            return arquivoRepository.totalsBySchoolAndDateRange(codigoEscola, inicialData, finalData);
+        }
+        return arquivoSummaryIndex.totalsBySchoolAndDateRange(codigoEscola, inicialData, finalData);
+    }
+
     /**
      * Executes a custom native SQL query using SQLExecutor.
      * Replaces legacy DAO.executarQuery behavior with executeNativeQuery delegation.
@@ -0,0 +1,89 @@
+package br.com.meta3.java.scaffold.application.services;
+
+import br.com.meta3.java.scaffold.application.services.ingestion.ArquivoIngestionPipeline;
+import br.com.meta3.java.scaffold.application.services.ingestion.IngestionResult;
+import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRegistroRepository;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRepository;
+import br.com.meta3.java.scaffold.domain.events.ArquivoSavedEvent;
+import br.com.meta3.java.scaffold.domain.services.ArquivoUploadService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service implementation for student file uploads.
+ * Runs the ingestion pipeline inside a single transaction so the Arquivo row
+ * and its record outcomes are committed (or rolled back) together.
+ */
+@Service
+public class ArquivoUploadServiceImpl implements ArquivoUploadService {
+
+    private final ArquivoRepository arquivoRepository;
+    private final ArquivoRegistroRepository arquivoRegistroRepository;
+    private final ArquivoIngestionPipeline ingestionPipeline;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ArquivoUploadServiceImpl(ArquivoRepository arquivoRepository,
+                                    ArquivoRegistroRepository arquivoRegistroRepository,
+                                    ArquivoIngestionPipeline ingestionPipeline,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.arquivoRepository = arquivoRepository;
+        this.arquivoRegistroRepository = arquivoRegistroRepository;
+        this.ingestionPipeline = ingestionPipeline;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public Arquivo upload(Long codigoEscola, String nomeArquivo, InputStream conteudo) {
+        if (codigoEscola == null || codigoEscola <= 0) {
+            throw new IllegalArgumentException("School code must be a positive number");
+        }
+
+        // Insert the Arquivo first so its id can be referenced by every record outcome
+        Arquivo arquivo = new Arquivo();
+        arquivo.setCodigoEscola(codigoEscola);
+        arquivo.setNomeArquivo(nomeArquivo);
+        arquivo.setDataUpload(LocalDateTime.now());
+        arquivo = arquivoRepository.save(arquivo);
+        Long arquivoId = arquivo.getId();
+
+        IngestionResult result = ingestionPipeline.run(conteudo, chunk ->
+            arquivoRegistroRepository.saveAll(chunk.toRegistros(arquivoId)));
+
+        // saveAll clears the persistence context, so the Arquivo is merged back here
+        arquivo.setQuantidadeRegistro(result.quantidadeRegistro());
+        arquivo.setAptos(result.aptos());
+        arquivo.setSemDocumento(result.semDocumento());
+        arquivo.setComCodigoSetps(result.comCodigoSetps());
+        arquivo.setComErro(result.comErro());
+        Arquivo saved = arquivoRepository.save(arquivo);
+
+        publishAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * Notifies read models and subscribers once the upload is committed, so nobody
+     * observes an Arquivo that could still be rolled back.
+     */
+    private void publishAfterCommit(Arquivo arquivo) {
+        ArquivoSavedEvent event = new ArquivoSavedEvent(arquivo);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventPublisher.publishEvent(event);
+            }
+        });
+    }
+}
@@ -0,0 +1,245 @@
+package br.com.meta3.java.scaffold.application.services.ingestion;
+
+import br.com.meta3.java.scaffold.domain.entities.SituacaoRegistro;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded producer/consumer pipeline that turns a student file stream into per-record outcomes.
+ * <ul>
+ *   <li>a reader (virtual) thread per upload streams lines into fixed-size chunks, so the file is
+ *       never buffered whole;</li>
+ *   <li>each chunk is classified as a task on a worker pool shared by all uploads, so concurrent
+ *       uploads share the cores instead of each starting one thread per core;</li>
+ *   <li>the calling thread drains validated chunks into the sink and accumulates the counters,
+ *       so the sink runs inside the caller's transaction.</li>
+ * </ul>
+ * Each upload holds at most queue-capacity chunks in flight: the reader takes a permit per chunk
+ * and the caller returns it once the sink has consumed the chunk, so a slow sink applies back
+ * pressure to the reader. Worker tasks never block, so a failed upload cannot strand pool threads.
+ */
+@Component
+public class ArquivoIngestionPipeline {
+
+    // How often a waiting caller checks that its reader is still alive
+    private static final long READER_CHECK_INTERVAL_MS = 1000;
+
+    private final StudentRecordValidator validator;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor workerPool;
+    private final ThreadFactory readerFactory = Thread.ofVirtual().name("arquivo-ingestion-reader-", 0).factory();
+    private final AtomicInteger activeReaders = new AtomicInteger();
+
+    public ArquivoIngestionPipeline(
+        StudentRecordValidator validator,
+        @Value("${app.ingestion.workers:0}") int workers,
+        @Value("${app.ingestion.chunk-size:1000}") int chunkSize,
+        @Value("${app.ingestion.queue-capacity:16}") int queueCapacity
+    ) {
+        if (chunkSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Ingestion chunk size and queue capacity must be positive");
+        }
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        // 0 means one worker per available core
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workerPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "arquivo-ingestion-worker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Streams, validates and classifies every non-blank line of the input.
+     *
+     * @param input UTF-8 student file; not closed by this method
+     * @param sink  receives validated chunks on the calling thread, in no particular order
+     * @return the counters for the whole file
+     * @throws UncheckedIOException  if the input cannot be read
+     * @throws IllegalStateException if a worker fails or the caller is interrupted
+     * @throws Error                 rethrown from the reader or a worker
+     */
+    public IngestionResult run(InputStream input, Consumer<ValidatedChunk> sink) {
+        Upload upload = new Upload();
+        Thread reader = readerFactory.newThread(() -> read(input, upload));
+        activeReaders.incrementAndGet();
+        reader.start();
+        try {
+            int[] counters = new int[SituacaoRegistro.values().length];
+            int consumed = 0;
+            int expected = -1;
+            while (expected < 0 || consumed < expected) {
+                Message message = upload.results.poll(READER_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (message == null) {
+                    // A terminated reader has already queued everything it will ever queue
+                    if (expected < 0 && !reader.isAlive() && upload.results.isEmpty()) {
+                        throw new IllegalStateException("Arquivo ingestion reader stopped without finishing");
+                    }
+                    continue;
+                }
+                if (message instanceof Failed failed) {
+                    if (failed.cause() instanceof RuntimeException runtime) {
+                        throw runtime;
+                    }
+                    if (failed.cause() instanceof Error error) {
+                        throw error;
+                    }
+                    throw new IllegalStateException("Arquivo ingestion failed", failed.cause());
+                }
+                if (message instanceof Finished finished) {
+                    expected = finished.chunks();
+                    continue;
+                }
+                ValidatedChunk chunk = ((Validated) message).chunk();
+                for (int i = 0; i < chunk.size(); i++) {
+                    counters[chunk.situacao(i).ordinal()]++;
+                }
+                sink.accept(chunk);
+                consumed++;
+                upload.inFlight.release();
+            }
+
+            return new IngestionResult(
+                Arrays.stream(counters).sum(),
+                counters[SituacaoRegistro.APTO.ordinal()],
+                counters[SituacaoRegistro.SEM_DOCUMENTO.ordinal()],
+                counters[SituacaoRegistro.COM_CODIGO_SETPS.ordinal()],
+                counters[SituacaoRegistro.COM_ERRO.ordinal()]
+            );
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ingesting arquivo", ex);
+        } finally {
+            // Queued chunk tasks of a failed upload become no-ops; the reader stops at its next permit
+            upload.cancelled.set(true);
+            reader.interrupt();
+        }
+    }
+
+    /**
+     * Shuts the shared worker pool down with the application context.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * @return true when no reader is running and no chunk task is queued or executing
+     */
+    boolean isIdle() {
+        return activeReaders.get() == 0 && workerPool.getActiveCount() == 0 && workerPool.getQueue().isEmpty();
+    }
+
+    private void read(InputStream input, Upload upload) {
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            long[] linhas = new long[chunkSize];
+            String[] lines = new String[chunkSize];
+            int size = 0;
+            int chunks = 0;
+            long linha = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                linha++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                linhas[size] = linha;
+                lines[size] = line;
+                if (++size == chunkSize) {
+                    submit(upload, linhas, lines);
+                    chunks++;
+                    linhas = new long[chunkSize];
+                    lines = new String[chunkSize];
+                    size = 0;
+                }
+            }
+            if (size > 0) {
+                submit(upload, Arrays.copyOf(linhas, size), Arrays.copyOf(lines, size));
+                chunks++;
+            }
+            upload.results.add(new Finished(chunks));
+        } catch (IOException ex) {
+            upload.results.add(new Failed(new UncheckedIOException("Failed to read uploaded arquivo", ex)));
+        } catch (InterruptedException ex) {
+            // Caller gave up on this upload
+            Thread.currentThread().interrupt();
+        } catch (Throwable ex) {
+            // Errors too: the caller waits for a Finished or Failed message
+            upload.results.add(new Failed(ex));
+        } finally {
+            activeReaders.decrementAndGet();
+        }
+    }
+
+    private void submit(Upload upload, long[] linhas, String[] lines) throws InterruptedException {
+        upload.inFlight.acquire();
+        try {
+            workerPool.execute(() -> validate(upload, linhas, lines));
+        } catch (RejectedExecutionException ex) {
+            throw new IllegalStateException("Arquivo ingestion pipeline is shut down", ex);
+        }
+    }
+
+    private void validate(Upload upload, long[] linhas, String[] lines) {
+        if (upload.cancelled.get()) {
+            return;
+        }
+        try {
+            ValidatedChunk validated = new ValidatedChunk(linhas);
+            for (int i = 0; i < lines.length; i++) {
+                validator.classify(lines[i], validated, i);
+            }
+            upload.results.add(new Validated(validated));
+        } catch (Throwable ex) {
+            upload.results.add(new Failed(ex));
+        }
+    }
+
+    /**
+     * State of one run: the caller's inbox and the in-flight chunk permits.
+     * The inbox is unbounded on purpose; the permits bound it to queue-capacity chunks.
+     */
+    private final class Upload {
+        private final BlockingQueue<Message> results = new LinkedBlockingQueue<>();
+        private final Semaphore inFlight = new Semaphore(queueCapacity);
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+    }
+
+    private sealed interface Message permits Validated, Finished, Failed {
+    }
+
+    private record Validated(ValidatedChunk chunk) implements Message {
+    }
+
+    private record Finished(int chunks) implements Message {
+    }
+
+    private record Failed(Throwable cause) implements Message {
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.meta3.java.scaffold.application.services.ingestion;
+
+/**
+ * Counters produced by ingesting one arquivo, matching the Arquivo columns.
+ */
+public record IngestionResult(int quantidadeRegistro,
+                              int aptos,
+                              int semDocumento,
+                              int comCodigoSetps,
+                              int comErro) {
+}
@@ -0,0 +1,66 @@
+package br.com.meta3.java.scaffold.application.services.ingestion;
+
+import br.com.meta3.java.scaffold.domain.entities.SituacaoRegistro;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Validates and classifies one line of an uploaded student file.
+ * Expected layout, semicolon separated: nome;dataNascimento(dd/MM/yyyy);documento;codigoSetps
+ * Stateless and safe to share between pipeline workers.
+ */
+@Component
+public class StudentRecordValidator {
+
+    static final int EXPECTED_FIELDS = 4;
+    // Longest input fragment echoed back in an error message
+    static final int MAX_ECHOED_CHARS = 40;
+    private static final DateTimeFormatter DATA_NASCIMENTO = DateTimeFormatter.ofPattern("dd/MM/uuuu")
+        .withResolverStyle(ResolverStyle.STRICT);
+
+    /**
+     * Classifies a record. Errors take precedence, then an existing SETPS code,
+     * then a missing document; anything else is apto.
+     *
+     * @param line   the raw record line
+     * @param target where the outcome is written
+     * @param index  position inside target
+     */
+    public void classify(String line, ValidatedChunk target, int index) {
+        String[] campos = line.split(";", -1);
+        if (campos.length != EXPECTED_FIELDS) {
+            target.set(index, SituacaoRegistro.COM_ERRO,
+                "Expected " + EXPECTED_FIELDS + " fields but found " + campos.length);
+            return;
+        }
+        if (campos[0].isBlank()) {
+            target.set(index, SituacaoRegistro.COM_ERRO, "nome is required");
+            return;
+        }
+        try {
+            LocalDate dataNascimento = LocalDate.parse(campos[1].trim(), DATA_NASCIMENTO);
+            if (dataNascimento.isAfter(LocalDate.now())) {
+                target.set(index, SituacaoRegistro.COM_ERRO, "dataNascimento is in the future");
+                return;
+            }
+        } catch (DateTimeParseException ex) {
+            target.set(index, SituacaoRegistro.COM_ERRO, "Invalid dataNascimento: " + echo(campos[1]));
+            return;
+        }
+        if (!campos[3].isBlank()) {
+            target.set(index, SituacaoRegistro.COM_CODIGO_SETPS, null);
+        } else if (campos[2].isBlank()) {
+            target.set(index, SituacaoRegistro.SEM_DOCUMENTO, null);
+        } else {
+            target.set(index, SituacaoRegistro.APTO, null);
+        }
+    }
+
+    private static String echo(String campo) {
+        return campo.length() > MAX_ECHOED_CHARS ? campo.substring(0, MAX_ECHOED_CHARS) + "..." : campo;
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.meta3.java.scaffold.application.services.ingestion;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRegistro;
+import br.com.meta3.java.scaffold.domain.entities.SituacaoRegistro;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcomes of a run of lines, stored as parallel arrays.
+ * Line numbers are 1-based positions in the uploaded file.
+ */
+public final class ValidatedChunk {
+
+    private final long[] linhas;
+    private final SituacaoRegistro[] situacoes;
+    private final String[] mensagens;
+
+    ValidatedChunk(long[] linhas) {
+        this.linhas = linhas;
+        this.situacoes = new SituacaoRegistro[linhas.length];
+        this.mensagens = new String[linhas.length];
+    }
+
+    void set(int index, SituacaoRegistro situacao, String mensagem) {
+        situacoes[index] = situacao;
+        // One oversized message must not fail the batched insert and roll back the whole upload
+        mensagens[index] = mensagem != null && mensagem.length() > ArquivoRegistro.MENSAGEM_LENGTH
+            ? mensagem.substring(0, ArquivoRegistro.MENSAGEM_LENGTH)
+            : mensagem;
+    }
+
+    public int size() {
+        return situacoes.length;
+    }
+
+    public long linha(int index) {
+        return linhas[index];
+    }
+
+    public SituacaoRegistro situacao(int index) {
+        return situacoes[index];
+    }
+
+    public String mensagem(int index) {
+        return mensagens[index];
+    }
+
+    /**
+     * @param arquivoId the Arquivo the records belong to
+     * @return one ArquivoRegistro per outcome, ready to be persisted
+     */
+    public List<ArquivoRegistro> toRegistros(Long arquivoId) {
+        List<ArquivoRegistro> registros = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            registros.add(new ArquivoRegistro(arquivoId, linhas[i], situacoes[i], mensagens[i]));
+        }
+        return registros;
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Per-record outcome of an uploaded Arquivo.
+ */
+@Entity
+@Table(name = "arquivo_registro", indexes = @Index(name = "idx_arquivo_registro_arquivo", columnList = "arquivo_id"))
+public class ArquivoRegistro {
+
+    /**
+     * Length of the mensagem column; longer messages are truncated before they reach the insert.
+     */
+    public static final int MENSAGEM_LENGTH = 255;
+
+    // Sequence with a large allocation size so Hibernate can batch inserts (IDENTITY disables batching)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "arquivo_registro_seq")
+    @SequenceGenerator(name = "arquivo_registro_seq", sequenceName = "arquivo_registro_seq", allocationSize = 500)
+    private Long id;
+
+    @Column(name = "arquivo_id", nullable = false)
+    private Long arquivoId;
+
+    @Column(name = "linha", nullable = false)
+    private Long linha;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "situacao", nullable = false, length = 20)
+    private SituacaoRegistro situacao;
+
+    @Column(name = "mensagem", length = MENSAGEM_LENGTH)
+    private String mensagem;
+
+    public ArquivoRegistro() {
+    }
+
+    public ArquivoRegistro(Long arquivoId, Long linha, SituacaoRegistro situacao, String mensagem) {
+        this.arquivoId = arquivoId;
+        this.linha = linha;
+        this.situacao = situacao;
+        this.mensagem = mensagem;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getArquivoId() {
+        return arquivoId;
+    }
+
+    public void setArquivoId(Long arquivoId) {
+        this.arquivoId = arquivoId;
+    }
+
+    public Long getLinha() {
+        return linha;
+    }
+
+    public void setLinha(Long linha) {
+        this.linha = linha;
+    }
+
+    public SituacaoRegistro getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(SituacaoRegistro situacao) {
+        this.situacao = situacao;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
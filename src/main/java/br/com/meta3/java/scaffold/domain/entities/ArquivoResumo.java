@@ -0,0 +1,39 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar projection of an Arquivo holding only what the summary index needs,
+ * so bulk reads do not materialize managed entities.
+ *
+ * @param id                 the arquivo identifier
+ * @param codigoEscola       the identifier of the school
+ * @param dataUpload         when the arquivo was uploaded
+ * @param quantidadeRegistro total records
+ * @param aptos              apto records
+ * @param semDocumento       records without document
+ * @param comCodigoSetps     records already holding a SETPS code
+ * @param comErro            records with errors
+ */
+public record ArquivoResumo(Long id,
+                            Long codigoEscola,
+                            LocalDateTime dataUpload,
+                            Integer quantidadeRegistro,
+                            Integer aptos,
+                            Integer semDocumento,
+                            Integer comCodigoSetps,
+                            Integer comErro) {
+
+    public static ArquivoResumo of(Arquivo arquivo) {
+        return new ArquivoResumo(
+            arquivo.getId(),
+            arquivo.getCodigoEscola(),
+            arquivo.getDataUpload(),
+            arquivo.getQuantidadeRegistro(),
+            arquivo.getAptos(),
+            arquivo.getSemDocumento(),
+            arquivo.getComCodigoSetps(),
+            arquivo.getComErro()
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+/**
+ * Sum of the Arquivo counters of a school over a date range.
+ *
+ * @param arquivos           number of arquivos in the range
+ * @param quantidadeRegistro total records
+ * @param aptos              total apto records
+ * @param semDocumento       total records without document
+ * @param comCodigoSetps     total records already holding a SETPS code
+ * @param comErro            total records with errors
+ */
+public record ArquivoTotais(int arquivos,
+                            long quantidadeRegistro,
+                            long aptos,
+                            long semDocumento,
+                            long comCodigoSetps,
+                            long comErro) {
+
+    public static final ArquivoTotais EMPTY = new ArquivoTotais(0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,12 @@
+package br.com.meta3.java.scaffold.domain.entities;
+
+/**
+ * Outcome of validating a single student record of an uploaded arquivo.
+ * Each value maps to one of the counters stored on Arquivo.
+ */
+public enum SituacaoRegistro {
+    APTO,
+    SEM_DOCUMENTO,
+    COM_CODIGO_SETPS,
+    COM_ERRO
+}
@@ -0,0 +1,11 @@
+package br.com.meta3.java.scaffold.domain.events;
+
+import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+
+/**
+ * Application event published after an Arquivo has been created or updated and committed.
+ *
+ * @param arquivo the saved entity
+ */
+public record ArquivoSavedEvent(Arquivo arquivo) {
+}
@@ -0,0 +1,19 @@
+package br.com.meta3.java.scaffold.domain.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRegistro;
+
+import java.util.List;
+
+/**
+ * Repository interface for the per-record outcomes of an uploaded Arquivo.
+ */
+public interface ArquivoRegistroRepository {
+
+    /**
+     * Persists the given outcomes using batched inserts.
+     * Must be called within an active transaction.
+     *
+     * @param registros the outcomes to persist
+     */
+    void saveAll(List<ArquivoRegistro> registros);
+}
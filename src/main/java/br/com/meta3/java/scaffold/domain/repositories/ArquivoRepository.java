@@ -1,6 +1,8 @@
 package br.com.meta3.java.scaffold.domain.repositories;
 
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoResumo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoTotais;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,6 +23,32 @@ public interface ArquivoRepository {
      * @return list of matching Arquivo entities
      */
     List<Arquivo> listBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData);
+
+    /**
+     * Retrieves the summary columns of every Arquivo. Used to load in-memory read models.
+     *
+     * @return one scalar projection per Arquivo
+     */
+    List<ArquivoResumo> listAllSummaries();
+
+    /**
+     * Sums the counters of the Arquivos of a school within the inclusive date range,
+     * aggregated by the database.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param inicialData  the start date (inclusive) of the period
+     * @param finalData    the end date (inclusive) of the period
+     * @return the totals, all zero if nothing matches
+     */
+    ArquivoTotais totalsBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData);
+
+    /**
+     * Persists a new Arquivo or updates an existing one.
+     *
+     * @param arquivo the entity to save
+     * @return the managed entity, with its identifier populated
+     */
+    Arquivo save(Arquivo arquivo);
     
     // TODO: (IMPLEMENT) Provide Spring Data JPA or custom implementation in infrastructure layer
 }
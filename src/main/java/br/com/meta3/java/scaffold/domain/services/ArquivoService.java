@@ -1,6 +1,7 @@
 package br.com.meta3.java.scaffold.domain.services;
 
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoTotais;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -22,6 +23,18 @@ public interface ArquivoService {
      */
     List<Arquivo> listBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData);
 
+    /**
+     * Sums the counters of the Arquivo entities of a school within the inclusive date range.
+     * Served from an in-memory index refreshed periodically, so rows written outside this
+     * instance may be reflected with a delay.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param inicialData  the start date (inclusive) of the period
+     * @param finalData    the end date (inclusive) of the period
+     * @return the totals for the period
+     */
+    ArquivoTotais totalsBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData);
+
     // TODO: (IMPLEMENT) Provide the implementation of this interface in
     //       src/main/java/br/com/meta3/java/scaffold/application/services/
 }
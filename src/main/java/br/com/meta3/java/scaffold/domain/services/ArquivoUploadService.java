@@ -0,0 +1,23 @@
+package br.com.meta3.java.scaffold.domain.services;
+
+import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for receiving student files.
+ * Defines the business operation that processes an uploaded file and
+ * records its Arquivo summary together with each record outcome.
+ */
+public interface ArquivoUploadService {
+
+    /**
+     * Processes an uploaded student file as a stream.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param nomeArquivo  the original file name
+     * @param conteudo     the file content; read once and not buffered whole
+     * @return the persisted Arquivo with its counters populated
+     */
+    Arquivo upload(Long codigoEscola, String nomeArquivo, InputStream conteudo);
+}
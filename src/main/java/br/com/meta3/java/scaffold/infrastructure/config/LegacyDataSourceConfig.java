@@ -1,9 +1,11 @@
 filetype java
 package br.com.meta3.java.scaffold.infrastructure.config;
 
+import br.com.meta3.java.scaffold.infrastructure.legacy.LegacyShardRouter;
 import com.microsoft.sqlserver.jdbc.SQLServerDataSource;
 import oracle.jdbc.pool.OracleDataSource;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -68,4 +70,17 @@ public class LegacyDataSourceConfig {
             throw new BeanCreationException("Failed to create legacy DataSource for type: " + tipoBanco, ex);
         }
     }
+
+    /**
+     * Router from school code to legacy DataSource.
+     * legacyDataSource, pooled by the router, serves as the default shard;
+     * app.datasource.shards[*] add further pooled shards.
+     *
+     * @param legacyDataSource the default legacy DataSource
+     * @return configured router, closing its pools on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public LegacyShardRouter legacyShardRouter(@Qualifier("legacyDataSource") DataSource legacyDataSource) {
+        return new LegacyShardRouter(legacyDataSource, props.getMaximumPoolSize(), props.getShards());
+    }
 }
\ No newline at end of file
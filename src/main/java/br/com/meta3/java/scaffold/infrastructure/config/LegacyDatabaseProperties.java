@@ -4,6 +4,9 @@ package br.com.meta3.java.scaffold.infrastructure.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for legacy database connections.
  * Maps legacy Oracle and SQL Server settings under prefix 'app.datasource'.
@@ -24,6 +27,17 @@ public class LegacyDatabaseProperties {
      */
     private final SqlServer sqlserver = new SqlServer();
 
+    /**
+     * Additional legacy databases, each owning a set of school codes.
+     * Schools not mapped to any shard are served by the default legacy DataSource.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Maximum pool size of the default legacy DataSource, which is wrapped in a Hikari pool.
+     */
+    private Integer maximumPoolSize = 10;
+
     public Oracle getOracle() {
         return oracle;
     }
@@ -32,6 +46,22 @@ public class LegacyDatabaseProperties {
         return sqlserver;
     }
 
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    public Integer getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(Integer maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
     // Nested class for Oracle properties
     public static class Oracle {
         private String url;
@@ -111,4 +141,102 @@ public class LegacyDatabaseProperties {
             this.databaseName = databaseName;
         }
     }
+
+    // Nested class for a legacy shard: its own JDBC pool and the school codes it owns
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private Integer maximumPoolSize = 10;
+        private List<Range> ranges = new ArrayList<>();
+        private List<Long> escolas = new ArrayList<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public Integer getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(Integer maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public List<Range> getRanges() {
+            return ranges;
+        }
+
+        public void setRanges(List<Range> ranges) {
+            this.ranges = ranges;
+        }
+
+        public List<Long> getEscolas() {
+            return escolas;
+        }
+
+        public void setEscolas(List<Long> escolas) {
+            this.escolas = escolas;
+        }
+    }
+
+    // Nested class for an inclusive range of school codes
+    public static class Range {
+        private Long from;
+        private Long to;
+
+        public Long getFrom() {
+            return from;
+        }
+
+        public void setFrom(Long from) {
+            this.from = from;
+        }
+
+        public Long getTo() {
+            return to;
+        }
+
+        public void setTo(Long to) {
+            this.to = to;
+        }
+    }
 }
\ No newline at end of file
@@ -1,39 +1,40 @@
 filetype java
 package br.com.meta3.java.scaffold.infrastructure.legacy;
 
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.stereotype.Component;
 
-import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Manager for obtaining Connections from the legacy database DataSource.
- * Migrates legacy conectarBanco() logic by delegating to the Spring-configured DataSource.
+ * Migrates legacy conectarBanco() logic by delegating to the Spring-configured DataSource,
+ * pooled by LegacyShardRouter as its default shard.
+ * School-scoped connections are routed to the owning shard by LegacyShardRouter.
  */
 @Component
 public class LegacyDatabaseConnectionManager {
 
-    private final DataSource legacyDataSource;
+    private final LegacyShardRouter shardRouter;
 
-    public LegacyDatabaseConnectionManager(
-        @Qualifier("legacyDataSource") DataSource legacyDataSource
-    ) {
-        this.legacyDataSource = legacyDataSource;
+    public LegacyDatabaseConnectionManager(LegacyShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
     }
 
     /**
      * Obtain a Connection to the legacy database.
-     * @return a new Connection from the configured legacy DataSource
+     * @return a pooled Connection from the default legacy shard
      * @throws DataAccessResourceFailureException if obtaining the Connection fails
      */
     public Connection getConnection() {
         try {
             // TODO: (REVIEW) In legacy code, conectarBanco also created a Statement.
             // Modern callers should create Statements or use JDBC/Spring templates as needed.
-            return legacyDataSource.getConnection();
+            return shardRouter.dataSource(LegacyShardRouter.DEFAULT_SHARD).getConnection();
         } catch (SQLException ex) {
             // Wrap SQLException in Spring's DataAccessException hierarchy
             throw new DataAccessResourceFailureException(
@@ -41,4 +42,39 @@ public class LegacyDatabaseConnectionManager {
             );
         }
     }
+
+    /**
+     * Obtain a Connection to the legacy database that owns the given school.
+     * @param codigoEscola the identifier of the school
+     * @return a new Connection from the shard DataSource
+     * @throws DataAccessResourceFailureException if obtaining the Connection fails
+     */
+    public Connection getConnection(Long codigoEscola) {
+        return getShardConnection(shardRouter.shardFor(codigoEscola));
+    }
+
+    /**
+     * Obtain a Connection to a named legacy shard.
+     * @param shard the shard name, as returned by {@link #groupByShard(Collection)}
+     * @return a new Connection from the shard DataSource
+     * @throws DataAccessResourceFailureException if obtaining the Connection fails
+     */
+    public Connection getShardConnection(String shard) {
+        try {
+            return shardRouter.dataSource(shard).getConnection();
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException(
+                "Unable to obtain connection from legacy shard " + shard, ex
+            );
+        }
+    }
+
+    /**
+     * Groups school codes by the legacy shard owning them.
+     * @param codigoEscolas the school codes
+     * @return school codes per shard name
+     */
+    public Map<String, List<Long>> groupByShard(Collection<Long> codigoEscolas) {
+        return shardRouter.groupByShard(codigoEscolas);
+    }
 }
\ No newline at end of file
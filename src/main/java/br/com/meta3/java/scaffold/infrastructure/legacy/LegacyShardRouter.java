@@ -0,0 +1,186 @@
+package br.com.meta3.java.scaffold.infrastructure.legacy;
+
+import br.com.meta3.java.scaffold.infrastructure.config.LegacyDatabaseProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Routes a school code to the legacy DataSource that owns it.
+ * Explicit school lists take precedence over ranges; unmapped schools go to the default shard.
+ * Every shard, the default one included, is served through a Hikari pool created here
+ * and closed by {@link #close()}.
+ */
+public class LegacyShardRouter implements AutoCloseable {
+
+    public static final String DEFAULT_SHARD = "default";
+
+    private final HikariDataSource defaultDataSource;
+    private final Map<String, HikariDataSource> shardDataSources = new LinkedHashMap<>();
+    private final Map<Long, String> shardByEscola = new HashMap<>();
+    // Keyed by range start; floorEntry(codigoEscola) finds the only candidate range
+    private final NavigableMap<Long, ShardRange> shardByRangeStart = new TreeMap<>();
+
+    /**
+     * @param legacyDataSource        the unpooled default legacy DataSource
+     * @param defaultMaximumPoolSize  maximum pool size of the default shard, or null for Hikari's default
+     * @param shards                  the additional shards
+     */
+    public LegacyShardRouter(DataSource legacyDataSource, Integer defaultMaximumPoolSize,
+                             List<LegacyDatabaseProperties.Shard> shards) {
+        this.defaultDataSource = createDefaultPool(legacyDataSource, defaultMaximumPoolSize);
+        try {
+            for (LegacyDatabaseProperties.Shard shard : shards) {
+                register(shard);
+            }
+        } catch (RuntimeException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    /**
+     * @param codigoEscola the identifier of the school
+     * @return name of the shard owning the school, or {@link #DEFAULT_SHARD}
+     */
+    public String shardFor(Long codigoEscola) {
+        if (codigoEscola == null) {
+            throw new IllegalArgumentException("School code must be provided for legacy shard routing");
+        }
+        String shard = shardByEscola.get(codigoEscola);
+        if (shard != null) {
+            return shard;
+        }
+        Map.Entry<Long, ShardRange> candidate = shardByRangeStart.floorEntry(codigoEscola);
+        if (candidate != null && codigoEscola <= candidate.getValue().to()) {
+            return candidate.getValue().shard();
+        }
+        return DEFAULT_SHARD;
+    }
+
+    /**
+     * @param codigoEscola the identifier of the school
+     * @return the DataSource owning the school
+     */
+    public DataSource dataSourceFor(Long codigoEscola) {
+        return dataSource(shardFor(codigoEscola));
+    }
+
+    /**
+     * @param shard the shard name
+     * @return the DataSource of the shard
+     */
+    public DataSource dataSource(String shard) {
+        if (DEFAULT_SHARD.equals(shard)) {
+            return defaultDataSource;
+        }
+        DataSource dataSource = shardDataSources.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown legacy shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    /**
+     * Groups school codes by the shard owning them, preserving the given order inside each group.
+     *
+     * @param codigoEscolas the school codes
+     * @return school codes per shard name
+     */
+    public Map<String, List<Long>> groupByShard(Collection<Long> codigoEscolas) {
+        Map<String, List<Long>> groups = new LinkedHashMap<>();
+        for (Long codigoEscola : codigoEscolas) {
+            groups.computeIfAbsent(shardFor(codigoEscola), k -> new ArrayList<>()).add(codigoEscola);
+        }
+        return groups;
+    }
+
+    /**
+     * Closes every pool. The wrapped legacy DataSource is owned by Spring and left untouched.
+     */
+    @Override
+    public void close() {
+        shardDataSources.values().forEach(HikariDataSource::close);
+        shardDataSources.clear();
+        defaultDataSource.close();
+    }
+
+    private void register(LegacyDatabaseProperties.Shard shard) {
+        String name = shard.getName();
+        if (name == null || name.isBlank() || DEFAULT_SHARD.equals(name)) {
+            throw new IllegalArgumentException("Legacy shard name must be provided and differ from '" + DEFAULT_SHARD + "'");
+        }
+        if (shardDataSources.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate legacy shard: " + name);
+        }
+        if (shard.getUrl() == null || shard.getUrl().isBlank()) {
+            throw new IllegalArgumentException("JDBC url must be provided for legacy shard: " + name);
+        }
+
+        for (Long codigoEscola : shard.getEscolas()) {
+            String previous = shardByEscola.putIfAbsent(codigoEscola, name);
+            if (previous != null) {
+                throw new IllegalArgumentException(
+                    "School " + codigoEscola + " mapped to both legacy shards " + previous + " and " + name);
+            }
+        }
+        for (LegacyDatabaseProperties.Range range : shard.getRanges()) {
+            registerRange(name, range);
+        }
+
+        shardDataSources.put(name, createPool(shard));
+    }
+
+    private void registerRange(String name, LegacyDatabaseProperties.Range range) {
+        if (range.getFrom() == null || range.getTo() == null || range.getFrom() > range.getTo()) {
+            throw new IllegalArgumentException("Invalid school code range for legacy shard: " + name);
+        }
+        Map.Entry<Long, ShardRange> before = shardByRangeStart.floorEntry(range.getTo());
+        if (before != null && before.getValue().to() >= range.getFrom()) {
+            throw new IllegalArgumentException("School code range " + range.getFrom() + "-" + range.getTo()
+                + " of legacy shard " + name + " overlaps legacy shard " + before.getValue().shard());
+        }
+        shardByRangeStart.put(range.getFrom(), new ShardRange(range.getTo(), name));
+    }
+
+    private static HikariDataSource createDefaultPool(DataSource legacyDataSource, Integer maximumPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("legacy-" + DEFAULT_SHARD);
+        // Oracle / SQL Server DataSource built by LegacyDataSourceConfig, credentials included
+        config.setDataSource(legacyDataSource);
+        // The unpooled DataSource never connected at startup; keep an unreachable legacy DB from failing the context
+        config.setInitializationFailTimeout(-1);
+        if (maximumPoolSize != null) {
+            config.setMaximumPoolSize(maximumPoolSize);
+        }
+        return new HikariDataSource(config);
+    }
+
+    private static HikariDataSource createPool(LegacyDatabaseProperties.Shard shard) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("legacy-" + shard.getName());
+        config.setJdbcUrl(shard.getUrl());
+        config.setUsername(shard.getUsername());
+        config.setPassword(shard.getPassword());
+        if (shard.getDriverClassName() != null && !shard.getDriverClassName().isBlank()) {
+            // TODO: (REVIEW) Ensure the Oracle / SQL Server JDBC drivers are on the classpath
+            config.setDriverClassName(shard.getDriverClassName());
+        }
+        if (shard.getMaximumPoolSize() != null) {
+            config.setMaximumPoolSize(shard.getMaximumPoolSize());
+        }
+        return new HikariDataSource(config);
+    }
+
+    private record ShardRange(long to, String shard) {
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRegistro;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRegistroRepository;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * Implementation of ArquivoRegistroRepository using JPA EntityManager.
+ * Relies on hibernate.jdbc.batch_size so each flush is sent as JDBC batches.
+ */
+@Repository
+public class ArquivoRegistroRepositoryImpl implements ArquivoRegistroRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public void saveAll(List<ArquivoRegistro> registros) {
+        for (ArquivoRegistro registro : registros) {
+            em.persist(registro);
+        }
+        // Flush and detach so the persistence context does not grow with the file size
+        em.flush();
+        em.clear();
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.meta3.java.scaffold.infrastructure.repositories;
 
 import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoResumo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoTotais;
 import br.com.meta3.java.scaffold.domain.repositories.ArquivoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -38,4 +40,55 @@ public class ArquivoRepositoryImpl implements ArquivoRepository {
 
         return query.getResultList();
     }
+
+    @Override
+    public List<ArquivoResumo> listAllSummaries() {
+        // Constructor expression: plain DTOs, nothing attached to the persistence context
+        String jpql = "SELECT new br.com.meta3.java.scaffold.domain.entities.ArquivoResumo(" +
+                      "  a.id, a.codigoEscola, a.dataUpload, a.quantidadeRegistro," +
+                      "  a.aptos, a.semDocumento, a.comCodigoSetps, a.comErro) " +
+                      "FROM Arquivo a";
+        return em.createQuery(jpql, ArquivoResumo.class).getResultList();
+    }
+
+    @Override
+    public ArquivoTotais totalsBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+        // Same inclusive range as listBySchoolAndDateRange
+        LocalDateTime startDateTime = inicialData.atStartOfDay();
+        LocalDateTime endDateTime = finalData.atTime(23, 59, 59, 999_999_999);
+
+        String jpql = "SELECT COUNT(a), " +
+                      "  COALESCE(SUM(a.quantidadeRegistro), 0), COALESCE(SUM(a.aptos), 0)," +
+                      "  COALESCE(SUM(a.semDocumento), 0), COALESCE(SUM(a.comCodigoSetps), 0)," +
+                      "  COALESCE(SUM(a.comErro), 0) " +
+                      "FROM Arquivo a " +
+                      "WHERE a.codigoEscola = :codigoEscola " +
+                      "  AND a.dataUpload BETWEEN :startDateTime AND :endDateTime";
+
+        Object[] row = em.createQuery(jpql, Object[].class)
+            .setParameter("codigoEscola", codigoEscola)
+            .setParameter("startDateTime", startDateTime)
+            .setParameter("endDateTime", endDateTime)
+            .getSingleResult();
+
+        return new ArquivoTotais(
+            ((Number) row[0]).intValue(),
+            ((Number) row[1]).longValue(),
+            ((Number) row[2]).longValue(),
+            ((Number) row[3]).longValue(),
+            ((Number) row[4]).longValue(),
+            ((Number) row[5]).longValue()
+        );
+    }
+
+    @Override
+    public Arquivo save(Arquivo arquivo) {
+        if (arquivo.getId() == null) {
+            em.persist(arquivo);
+            // Flush so the generated identifier is available to callers
+            em.flush();
+            return arquivo;
+        }
+        return em.merge(arquivo);
+    }
 }
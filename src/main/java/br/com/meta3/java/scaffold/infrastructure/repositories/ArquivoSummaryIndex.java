@@ -0,0 +1,526 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoResumo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoTotais;
+import br.com.meta3.java.scaffold.domain.events.ArquivoSavedEvent;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory columnar read model of Arquivo summaries, partitioned by school code.
+ * Each school keeps its dataUpload instants as a sorted long[] (epoch millis, UTC)
+ * with parallel primitive arrays for the id and the counters, so date range lookups
+ * are two binary searches and totals are plain array sums.
+ * Readers work on an immutable snapshot; writers copy the affected school and swap it in,
+ * finding the school of an existing id through a writer-side id-to-school map.
+ * Only this instance's writes are applied immediately; rows written elsewhere (legacy system,
+ * other instances) show up on the next periodic reload, so the index must not be used to
+ * answer "no rows" for queries that the database can answer.
+ */
+@Component
+public class ArquivoSummaryIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivoSummaryIndex.class);
+
+    private final ArquivoRepository arquivoRepository;
+
+    /**
+     * Current published snapshot. Replaced as a whole on every write (copy-on-write).
+     */
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), false);
+
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    /**
+     * Writes applied while a reload is reading the repository; replayed on top of the reloaded
+     * rows so they are not lost. Null when no reload is in progress. Guarded by this.
+     */
+    private List<PendingWrite> pendingWrites;
+
+    /**
+     * School code of every indexed id, so a write touches only the affected schools. Guarded by this.
+     */
+    private Map<Long, Long> schoolById = new HashMap<>();
+
+    public ArquivoSummaryIndex(ArquivoRepository arquivoRepository) {
+        this.arquivoRepository = arquivoRepository;
+    }
+
+    /**
+     * Loads the whole index from the repository once the application is ready, then
+     * periodically to pick up rows written outside this instance.
+     * Writes arriving while the repository is read are kept and replayed after the rebuild.
+     * Reads scalar projections rather than entities and logs the resulting footprint.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.index.reload-interval-ms:300000}",
+               initialDelayString = "${app.index.reload-interval-ms:300000}")
+    public void load() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                pendingWrites = new ArrayList<>();
+            }
+            List<ArquivoResumo> resumos;
+            try {
+                resumos = arquivoRepository.listAllSummaries();
+            } catch (RuntimeException ex) {
+                synchronized (this) {
+                    pendingWrites = null;
+                }
+                throw ex;
+            }
+            rebuild(resumos);
+            Snapshot loaded = snapshot;
+            log.info("Arquivo summary index loaded: {} arquivos in {} schools, ~{} KiB",
+                loaded.size(), loaded.schoolCount(), loaded.memoryFootprintBytes() / 1024);
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    /**
+     * Replaces the index contents with the given arquivos, then replays any write
+     * recorded since the reload started.
+     *
+     * @param resumos all arquivos to index
+     */
+    public synchronized void rebuild(List<ArquivoResumo> resumos) {
+        Map<Long, List<ArquivoResumo>> bySchool = new HashMap<>();
+        Map<Long, Long> schoolByIdRebuilt = new HashMap<>(resumos.size() * 2);
+        for (ArquivoResumo resumo : resumos) {
+            if (isIndexable(resumo)) {
+                bySchool.computeIfAbsent(resumo.codigoEscola(), k -> new ArrayList<>()).add(resumo);
+                schoolByIdRebuilt.put(resumo.id(), resumo.codigoEscola());
+            }
+        }
+        Map<Long, SchoolColumns> schools = new HashMap<>(bySchool.size() * 2);
+        bySchool.forEach((codigoEscola, rows) -> schools.put(codigoEscola, SchoolColumns.of(rows)));
+        if (pendingWrites != null) {
+            for (PendingWrite write : pendingWrites) {
+                if (write.upserted() != null) {
+                    applyUpsert(schools, schoolByIdRebuilt, write.upserted());
+                } else {
+                    removeId(schools, schoolByIdRebuilt, write.removedId());
+                }
+            }
+            pendingWrites = null;
+        }
+        schoolById = schoolByIdRebuilt;
+        snapshot = new Snapshot(schools, true);
+    }
+
+    /**
+     * Inserts or replaces a single arquivo. Must be called after the arquivo is written
+     * so the index stays consistent with the repository.
+     *
+     * @param arquivo the persisted arquivo (id, codigoEscola and dataUpload are required)
+     */
+    public synchronized void upsert(Arquivo arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+        ArquivoResumo resumo = ArquivoResumo.of(arquivo);
+        if (!isIndexable(resumo)) {
+            return;
+        }
+        if (pendingWrites != null) {
+            pendingWrites.add(new PendingWrite(resumo, null));
+        }
+        Snapshot current = snapshot;
+        Map<Long, SchoolColumns> schools = new HashMap<>(current.schools);
+        applyUpsert(schools, schoolById, resumo);
+        snapshot = new Snapshot(schools, current.loaded);
+    }
+
+    /**
+     * Keeps the index current with committed writes.
+     *
+     * @param event the saved arquivo
+     */
+    @EventListener
+    public void onArquivoSaved(ArquivoSavedEvent event) {
+        upsert(event.arquivo());
+    }
+
+    /**
+     * Removes an arquivo from the index. Nothing deletes arquivos yet; kept for tests and
+     * for the replay of pending writes.
+     *
+     * @param id the arquivo identifier
+     */
+    synchronized void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        if (pendingWrites != null) {
+            pendingWrites.add(new PendingWrite(null, id));
+        }
+        Snapshot current = snapshot;
+        Map<Long, SchoolColumns> schools = new HashMap<>(current.schools);
+        if (removeId(schools, schoolById, id)) {
+            snapshot = new Snapshot(schools, current.loaded);
+        }
+    }
+
+    /**
+     * Returns the current immutable snapshot. Callers answering several questions
+     * should reuse one snapshot so all answers are consistent with each other.
+     *
+     * @return the published snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Whether the index has been loaded from the repository at least once.
+     *
+     * @return true after the initial load
+     */
+    public boolean isLoaded() {
+        return snapshot.loaded;
+    }
+
+    /**
+     * Ids of the arquivos of a school uploaded within the inclusive date range,
+     * ordered by dataUpload.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param inicialData  the start date (inclusive) of the period
+     * @param finalData    the end date (inclusive) of the period
+     * @return matching ids, empty if none
+     */
+    long[] idsBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+        return snapshot.idsBySchoolAndDateRange(codigoEscola, inicialData, finalData);
+    }
+
+    /**
+     * Number of arquivos of a school uploaded within the inclusive date range.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param inicialData  the start date (inclusive) of the period
+     * @param finalData    the end date (inclusive) of the period
+     * @return the number of matching arquivos
+     */
+    int countBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+        return snapshot.countBySchoolAndDateRange(codigoEscola, inicialData, finalData);
+    }
+
+    /**
+     * Sums the counters of the arquivos of a school uploaded within the inclusive date range.
+     *
+     * @param codigoEscola the identifier of the school
+     * @param inicialData  the start date (inclusive) of the period
+     * @param finalData    the end date (inclusive) of the period
+     * @return the totals, all zero if nothing matches
+     */
+    public ArquivoTotais totalsBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+        return snapshot.totalsBySchoolAndDateRange(codigoEscola, inicialData, finalData);
+    }
+
+    /**
+     * Approximate heap used by the current snapshot, in bytes.
+     *
+     * @return estimated footprint
+     */
+    public long memoryFootprintBytes() {
+        return snapshot.memoryFootprintBytes();
+    }
+
+    private static boolean isIndexable(ArquivoResumo resumo) {
+        return resumo.id() != null
+            && resumo.codigoEscola() != null
+            && resumo.dataUpload() != null;
+    }
+
+    private static void applyUpsert(Map<Long, SchoolColumns> schools, Map<Long, Long> schoolById,
+                                     ArquivoResumo resumo) {
+        // The school code of an existing row may have changed, so drop it from its previous school
+        Long previousSchool = schoolById.put(resumo.id(), resumo.codigoEscola());
+        if (previousSchool != null) {
+            removeFromSchool(schools, previousSchool, resumo.id());
+        }
+        SchoolColumns columns = schools.getOrDefault(resumo.codigoEscola(), SchoolColumns.EMPTY);
+        schools.put(resumo.codigoEscola(), columns.with(resumo));
+    }
+
+    private static boolean removeId(Map<Long, SchoolColumns> schools, Map<Long, Long> schoolById, long id) {
+        Long codigoEscola = schoolById.remove(id);
+        if (codigoEscola == null) {
+            return false;
+        }
+        removeFromSchool(schools, codigoEscola, id);
+        return true;
+    }
+
+    private static void removeFromSchool(Map<Long, SchoolColumns> schools, Long codigoEscola, long id) {
+        SchoolColumns columns = schools.get(codigoEscola);
+        if (columns == null) {
+            return;
+        }
+        SchoolColumns without = columns.without(id);
+        if (without.size() == 0) {
+            schools.remove(codigoEscola);
+        } else {
+            schools.put(codigoEscola, without);
+        }
+    }
+
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static long startOfDayMillis(LocalDate date) {
+        return toEpochMillis(date.atStartOfDay());
+    }
+
+    static long endOfDayMillis(LocalDate date) {
+        // inclusive end of day, consistent with ArquivoRepositoryImpl
+        return startOfDayMillis(date.plusDays(1)) - 1;
+    }
+
+    /**
+     * Immutable view of the whole index at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final Map<Long, SchoolColumns> schools;
+        private final boolean loaded;
+
+        private Snapshot(Map<Long, SchoolColumns> schools, boolean loaded) {
+            this.schools = Collections.unmodifiableMap(schools);
+            this.loaded = loaded;
+        }
+
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        public int schoolCount() {
+            return schools.size();
+        }
+
+        public int size() {
+            int total = 0;
+            for (SchoolColumns columns : schools.values()) {
+                total += columns.size();
+            }
+            return total;
+        }
+
+        long[] idsBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+            SchoolColumns columns = schools.get(codigoEscola);
+            if (columns == null) {
+                return new long[0];
+            }
+            int from = columns.lowerBound(startOfDayMillis(inicialData));
+            int to = columns.upperBound(endOfDayMillis(finalData));
+            return from < to ? Arrays.copyOfRange(columns.ids, from, to) : new long[0];
+        }
+
+        int countBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+            SchoolColumns columns = schools.get(codigoEscola);
+            if (columns == null) {
+                return 0;
+            }
+            int from = columns.lowerBound(startOfDayMillis(inicialData));
+            int to = columns.upperBound(endOfDayMillis(finalData));
+            return Math.max(0, to - from);
+        }
+
+        public ArquivoTotais totalsBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+            SchoolColumns columns = schools.get(codigoEscola);
+            if (columns == null) {
+                return ArquivoTotais.EMPTY;
+            }
+            int from = columns.lowerBound(startOfDayMillis(inicialData));
+            int to = columns.upperBound(endOfDayMillis(finalData));
+            if (from >= to) {
+                return ArquivoTotais.EMPTY;
+            }
+            long quantidadeRegistro = 0;
+            long aptos = 0;
+            long semDocumento = 0;
+            long comCodigoSetps = 0;
+            long comErro = 0;
+            for (int i = from; i < to; i++) {
+                quantidadeRegistro += columns.quantidadeRegistro[i];
+                aptos += columns.aptos[i];
+                semDocumento += columns.semDocumento[i];
+                comCodigoSetps += columns.comCodigoSetps[i];
+                comErro += columns.comErro[i];
+            }
+            return new ArquivoTotais(to - from, quantidadeRegistro, aptos, semDocumento, comCodigoSetps, comErro);
+        }
+
+        public long memoryFootprintBytes() {
+            // HashMap table + entries + boxed keys, roughly 64 bytes per school;
+            // the writer-side id-to-school map is not part of the snapshot
+            long bytes = 48L + schools.size() * 64L;
+            for (SchoolColumns columns : schools.values()) {
+                bytes += columns.memoryFootprintBytes();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Sorted columns for a single school. Instances are never mutated after construction.
+     */
+    static final class SchoolColumns {
+
+        static final SchoolColumns EMPTY = new SchoolColumns(0);
+
+        private static final long ARRAY_HEADER_BYTES = 16L;
+        private static final long OBJECT_HEADER_BYTES = 16L;
+
+        final long[] dataUpload;
+        final long[] ids;
+        final int[] quantidadeRegistro;
+        final int[] aptos;
+        final int[] semDocumento;
+        final int[] comCodigoSetps;
+        final int[] comErro;
+
+        private SchoolColumns(int size) {
+            this.dataUpload = new long[size];
+            this.ids = new long[size];
+            this.quantidadeRegistro = new int[size];
+            this.aptos = new int[size];
+            this.semDocumento = new int[size];
+            this.comCodigoSetps = new int[size];
+            this.comErro = new int[size];
+        }
+
+        static SchoolColumns of(List<ArquivoResumo> rows) {
+            List<ArquivoResumo> sorted = new ArrayList<>(rows);
+            sorted.sort((a, b) -> a.dataUpload().compareTo(b.dataUpload()));
+            SchoolColumns columns = new SchoolColumns(sorted.size());
+            for (int i = 0; i < sorted.size(); i++) {
+                columns.set(i, sorted.get(i));
+            }
+            return columns;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * First position whose dataUpload is &gt;= the given instant.
+         */
+        int lowerBound(long epochMillis) {
+            int low = 0;
+            int high = dataUpload.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dataUpload[mid] < epochMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * First position whose dataUpload is &gt; the given instant.
+         */
+        int upperBound(long epochMillis) {
+            int low = 0;
+            int high = dataUpload.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dataUpload[mid] <= epochMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        SchoolColumns with(ArquivoResumo resumo) {
+            int position = upperBound(toEpochMillis(resumo.dataUpload()));
+            SchoolColumns copy = new SchoolColumns(size() + 1);
+            copy.copyFrom(this, 0, 0, position);
+            copy.set(position, resumo);
+            copy.copyFrom(this, position, position + 1, size() - position);
+            return copy;
+        }
+
+        /**
+         * @return a copy without the given id, or this same instance if the id is absent
+         */
+        SchoolColumns without(long id) {
+            int position = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    position = i;
+                    break;
+                }
+            }
+            if (position < 0) {
+                return this;
+            }
+            SchoolColumns copy = new SchoolColumns(size() - 1);
+            copy.copyFrom(this, 0, 0, position);
+            copy.copyFrom(this, position + 1, position, size() - position - 1);
+            return copy;
+        }
+
+        long memoryFootprintBytes() {
+            int n = size();
+            return OBJECT_HEADER_BYTES + 7 * 4L
+                + 2 * (ARRAY_HEADER_BYTES + 8L * n)
+                + 5 * (ARRAY_HEADER_BYTES + 4L * n);
+        }
+
+        private void set(int i, ArquivoResumo resumo) {
+            dataUpload[i] = toEpochMillis(resumo.dataUpload());
+            ids[i] = resumo.id();
+            quantidadeRegistro[i] = Objects.requireNonNullElse(resumo.quantidadeRegistro(), 0);
+            aptos[i] = Objects.requireNonNullElse(resumo.aptos(), 0);
+            semDocumento[i] = Objects.requireNonNullElse(resumo.semDocumento(), 0);
+            comCodigoSetps[i] = Objects.requireNonNullElse(resumo.comCodigoSetps(), 0);
+            comErro[i] = Objects.requireNonNullElse(resumo.comErro(), 0);
+        }
+
+        private void copyFrom(SchoolColumns source, int sourcePos, int targetPos, int length) {
+            if (length <= 0) {
+                return;
+            }
+            System.arraycopy(source.dataUpload, sourcePos, dataUpload, targetPos, length);
+            System.arraycopy(source.ids, sourcePos, ids, targetPos, length);
+            System.arraycopy(source.quantidadeRegistro, sourcePos, quantidadeRegistro, targetPos, length);
+            System.arraycopy(source.aptos, sourcePos, aptos, targetPos, length);
+            System.arraycopy(source.semDocumento, sourcePos, semDocumento, targetPos, length);
+            System.arraycopy(source.comCodigoSetps, sourcePos, comCodigoSetps, targetPos, length);
+            System.arraycopy(source.comErro, sourcePos, comErro, targetPos, length);
+        }
+    }
+
+    private record PendingWrite(ArquivoResumo upserted, Long removedId) {
+    }
+}
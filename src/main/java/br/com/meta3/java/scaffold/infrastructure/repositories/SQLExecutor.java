@@ -0,0 +1,61 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abstraction for executing native SQL queries, replacing the legacy DAO executarQuery.
+ */
+public interface SQLExecutor {
+
+    /**
+     * Token expanded by {@link #executeNativeQueryForSchools} to a predicate selecting the schools
+     * owned by each shard.
+     */
+    String ESCOLAS_TOKEN = "{escolas}";
+
+    /**
+     * Executes a native SQL query with positional parameters.
+     *
+     * @param sql    the native SQL string
+     * @param params positional parameters for the query
+     * @return result list of Object arrays, each array representing a row
+     * @throws DataAccessException in case of any persistence or data access errors
+     */
+    List<Object[]> executeNativeQuery(String sql, Object... params) throws DataAccessException;
+
+    /**
+     * Executes a native SQL query on the legacy shard owning the given school.
+     *
+     * @param codigoEscola the identifier of the school used for routing
+     * @param sql          the native SQL string
+     * @param params       positional parameters for the query
+     * @return result list of Object arrays, each array representing a row
+     * @throws DataAccessException in case of any data access errors
+     */
+    List<Object[]> executeNativeQueryForSchool(Long codigoEscola, String sql, Object... params) throws DataAccessException;
+
+    /**
+     * Executes a native SQL query on every legacy shard owning at least one of the given schools,
+     * in parallel. {@value #ESCOLAS_TOKEN} in the SQL is replaced on each shard by a predicate on
+     * escolaColumn covering the schools it owns, e.g. for
+     * {@code SELECT COUNT(*) FROM aluno WHERE {escolas} AND ativo = ?} with column
+     * {@code codigo_escola}: {@code (codigo_escola IN (1, 2, ...) OR codigo_escola IN (1001, ...))},
+     * at most 1000 codes per IN list. Each shard runs one statement, so aggregates cover all of
+     * its schools; results are returned per shard, and combining aggregates across shards is up
+     * to the caller. If any shard fails, the statements still running on the others are cancelled
+     * and the failure is thrown.
+     *
+     * @param codigoEscolas the school codes used for routing
+     * @param escolaColumn  the (optionally qualified) column holding the school code
+     * @param sql           the native SQL string containing {@value #ESCOLAS_TOKEN}
+     * @param params        positional parameters, bound identically on every shard
+     * @return rows per shard name, in routing order
+     * @throws DataAccessException in case of any data access errors on any shard
+     */
+    Map<String, List<Object[]>> executeNativeQueryForSchools(Collection<Long> codigoEscolas, String escolaColumn,
+                                                             String sql, Object... params) throws DataAccessException;
+}
@@ -1,25 +1,66 @@
 package br.com.meta3.java.scaffold.infrastructure.repositories;
 
+import br.com.meta3.java.scaffold.infrastructure.legacy.LegacyDatabaseConnectionManager;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Utility for executing native SQL queries using JPA EntityManager.
- * Maps any JPA exceptions to Spring's DataAccessException hierarchy.
+ * School-scoped queries use plain JDBC on the legacy shard owning each school.
+ * Maps any JPA / JDBC exceptions to Spring's DataAccessException hierarchy.
  */
 @Repository
 public class SQLExecutorImpl implements SQLExecutor {
 
+    // Oracle rejects IN lists longer than 1000 expressions (ORA-01795)
+    static final int MAX_IN_LIST = 1000;
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    // Column names are inlined into the SQL, so only plain (optionally qualified) identifiers are allowed
+    private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private final LegacyDatabaseConnectionManager connectionManager;
+    private final int queryTimeoutSeconds;
+
+    public SQLExecutorImpl(
+        LegacyDatabaseConnectionManager connectionManager,
+        @Value("${app.datasource.query-timeout-seconds:120}") int queryTimeoutSeconds
+    ) {
+        this.connectionManager = connectionManager;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
     /**
      * Executes a native SQL query with positional parameters.
      *
@@ -46,5 +87,163 @@ public class SQLExecutorImpl implements SQLExecutor {
             throw new DataAccessResourceFailureException("Error executing native SQL query", ex);
         }
     }
-}
 
+    @Override
+    public List<Object[]> executeNativeQueryForSchool(Long codigoEscola, String sql, Object... params) throws DataAccessException {
+        try (Connection connection = connectionManager.getConnection(codigoEscola)) {
+            return query(connection, new RunningStatements(), sql, params);
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException(
+                "Error executing native SQL query for school " + codigoEscola, ex);
+        }
+    }
+
+    @Override
+    public Map<String, List<Object[]>> executeNativeQueryForSchools(Collection<Long> codigoEscolas, String escolaColumn,
+                                                                    String sql, Object... params) throws DataAccessException {
+        if (!sql.contains(ESCOLAS_TOKEN)) {
+            throw new IllegalArgumentException("SQL for a multi-school query must contain " + ESCOLAS_TOKEN);
+        }
+        if (escolaColumn == null || !COLUMN_NAME.matcher(escolaColumn).matches()) {
+            throw new IllegalArgumentException("Invalid school code column: " + escolaColumn);
+        }
+        Map<String, List<Long>> escolasByShard = connectionManager.groupByShard(new LinkedHashSet<>(codigoEscolas));
+        Map<String, List<Object[]>> results = new LinkedHashMap<>();
+        if (escolasByShard.isEmpty()) {
+            return results;
+        }
+        RunningStatements running = new RunningStatements();
+        if (escolasByShard.size() == 1) {
+            Map.Entry<String, List<Long>> only = escolasByShard.entrySet().iterator().next();
+            results.put(only.getKey(), queryShard(only.getKey(), only.getValue(), escolaColumn, running, sql, params));
+            return results;
+        }
+
+        // Scatter: one blocking JDBC statement per shard, each on its own virtual thread
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<List<Object[]>> completion = new ExecutorCompletionService<>(executor);
+        Map<String, Future<List<Object[]>>> partials = new LinkedHashMap<>();
+        boolean completed = false;
+        try {
+            escolasByShard.forEach((shard, escolas) -> partials.put(shard,
+                completion.submit(() -> queryShard(shard, escolas, escolaColumn, running, sql, params))));
+
+            // Wait in completion order so the first failure is seen without waiting for slower shards
+            for (int i = 0; i < partials.size(); i++) {
+                completion.take().get();
+            }
+
+            // Gather in shard order; every partial is done by now
+            for (Map.Entry<String, Future<List<Object[]>>> partial : partials.entrySet()) {
+                results.put(partial.getKey(), partial.getValue().get());
+            }
+            completed = true;
+            return results;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while querying legacy shards", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof DataAccessException dataAccess) {
+                throw dataAccess;
+            }
+            throw new DataAccessResourceFailureException("Error executing native SQL query on legacy shards", ex.getCause());
+        } finally {
+            if (!completed) {
+                // JDBC drivers ignore interrupts: cancel the sibling statements on the database so
+                // their pooled connections are released, then abandon the tasks
+                running.cancelAll();
+                partials.values().forEach(partial -> partial.cancel(true));
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the query on one shard as a single statement, so aggregates cover all of its schools.
+     */
+    private List<Object[]> queryShard(String shard, List<Long> escolas, String escolaColumn,
+                                      RunningStatements running, String sql, Object... params) {
+        String shardSql = sql.replace(ESCOLAS_TOKEN, inPredicate(escolaColumn, escolas));
+        try (Connection connection = connectionManager.getShardConnection(shard)) {
+            return query(connection, running, shardSql, params);
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException(
+                "Error executing native SQL query on legacy shard " + shard, ex);
+        }
+    }
+
+    /**
+     * Builds {@code (column IN (...) OR column IN (...))} with at most {@link #MAX_IN_LIST} codes per list.
+     */
+    static String inPredicate(String escolaColumn, List<Long> escolas) {
+        StringJoiner predicate = new StringJoiner(" OR ", "(", ")");
+        for (int from = 0; from < escolas.size(); from += MAX_IN_LIST) {
+            List<Long> chunk = escolas.subList(from, Math.min(from + MAX_IN_LIST, escolas.size()));
+            // School codes are Longs, so inlining them cannot inject SQL
+            predicate.add(escolaColumn + " IN ("
+                + chunk.stream().map(String::valueOf).collect(Collectors.joining(", ")) + ")");
+        }
+        return predicate.toString();
+    }
+
+    private List<Object[]> query(Connection connection, RunningStatements running,
+                                 String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            // 0 means no limit; otherwise a statement nobody cancelled still cannot hold its connection forever
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            if (params != null) {
+                for (int i = 0; i < params.length; i++) {
+                    // JDBC positional parameters are 1-based
+                    statement.setObject(i + 1, params[i]);
+                }
+            }
+            running.register(statement);
+            try (ResultSet rs = statement.executeQuery()) {
+                int columns = rs.getMetaData().getColumnCount();
+                List<Object[]> rows = new ArrayList<>();
+                while (rs.next()) {
+                    Object[] row = new Object[columns];
+                    for (int i = 0; i < columns; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }
+                return rows;
+            } finally {
+                running.unregister(statement);
+            }
+        }
+    }
+
+    /**
+     * Statements executing on behalf of one call, so a failure can cancel its siblings on the database.
+     */
+    private static final class RunningStatements {
+        private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        void register(Statement statement) throws SQLException {
+            statements.add(statement);
+            if (cancelled) {
+                // cancelAll may have run before this statement was added
+                statements.remove(statement);
+                throw new SQLException("Query cancelled because a sibling legacy shard failed");
+            }
+        }
+
+        void unregister(Statement statement) {
+            statements.remove(statement);
+        }
+
+        void cancelAll() {
+            cancelled = true;
+            for (Statement statement : statements) {
+                try {
+                    statement.cancel();
+                } catch (SQLException ex) {
+                    // Best effort: the query timeout still bounds the statement
+                }
+            }
+        }
+    }
+}
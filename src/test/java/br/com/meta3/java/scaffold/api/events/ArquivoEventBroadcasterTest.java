@@ -0,0 +1,371 @@
+package br.com.meta3.java.scaffold.api.events;
+
+import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.events.ArquivoSavedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SSE fan-out, slow-consumer eviction and Last-Event-ID resume.
+ */
+class ArquivoEventBroadcasterTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:([^\\n]+)");
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final List<RecordingEmitter> created = new CopyOnWriteArrayList<>();
+    private Supplier<RecordingEmitter> emitters = RecordingEmitter::new;
+    private ArquivoEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void fansOutToSubscribersOfTheSameSchoolOnly() throws InterruptedException {
+        broadcaster = broadcaster(8, 16);
+        RecordingEmitter first = subscribe(7L, null);
+        RecordingEmitter second = subscribe(7L, null);
+        RecordingEmitter otherSchool = subscribe(8L, null);
+
+        publish(7L, 1L);
+
+        await(() -> first.arquivoEvents() == 1 && second.arquivoEvents() == 1);
+        assertEquals(0, otherSchool.arquivoEvents());
+        assertEquals(2, broadcaster.subscriberCount(7L));
+    }
+
+    @Test
+    void schoolsWithoutSubscribersGetNoChannel() {
+        broadcaster = broadcaster(8, 16);
+
+        publish(9L, 1L);
+
+        assertEquals(0, broadcaster.channelCount());
+    }
+
+    @Test
+    void resumeReplaysMissedEvents() throws InterruptedException {
+        broadcaster = broadcaster(8, 16);
+        RecordingEmitter live = subscribe(7L, null);
+        publish(7L, 1L);
+        await(() -> live.arquivoEvents() == 1);
+        String lastSeen = live.lastId();
+
+        publish(7L, 2L);
+        publish(7L, 3L);
+        RecordingEmitter resumed = subscribe(7L, lastSeen);
+
+        await(() -> resumed.arquivoEvents() == 2);
+        assertFalse(resumed.hasReset());
+    }
+
+    @Test
+    void replayLargerThanBufferResetsOnceAndThenResumes() throws InterruptedException {
+        broadcaster = broadcaster(2, 16);
+        RecordingEmitter live = subscribe(7L, null);
+        publish(7L, 1L);
+        await(() -> live.arquivoEvents() == 1);
+        String lastSeen = live.lastId();
+        // Let the live subscriber keep up so only the replay overflows
+        for (long id = 2; id <= 4; id++) {
+            publish(7L, id);
+            long expected = id;
+            await(() -> live.arquivoEvents() == expected);
+        }
+
+        RecordingEmitter overflowed = subscribe(7L, lastSeen);
+        await(overflowed::isCompleted);
+        assertTrue(overflowed.hasReset());
+
+        // Reconnecting with the id carried by the reset must not loop
+        RecordingEmitter reconnected = subscribe(7L, overflowed.lastId());
+        publish(7L, 5L);
+        await(() -> reconnected.arquivoEvents() == 1);
+        assertFalse(reconnected.hasReset());
+    }
+
+    @Test
+    void resumeOlderThanRetainedHistoryResets() throws InterruptedException {
+        broadcaster = broadcaster(16, 2);
+        RecordingEmitter live = subscribe(7L, null);
+        publish(7L, 1L);
+        await(() -> live.arquivoEvents() == 1);
+        String lastSeen = live.lastId();
+        for (long id = 2; id <= 4; id++) {
+            publish(7L, id);
+        }
+
+        RecordingEmitter resumed = subscribe(7L, lastSeen);
+
+        await(resumed::isCompleted);
+        assertTrue(resumed.hasReset());
+        assertEquals(0, resumed.arquivoEvents());
+    }
+
+    @Test
+    void idFromAnotherProcessResets() throws InterruptedException {
+        broadcaster = broadcaster(8, 16);
+
+        RecordingEmitter resumed = subscribe(7L, "previousboot-42");
+
+        await(resumed::isCompleted);
+        assertTrue(resumed.hasReset());
+    }
+
+    @Test
+    void slowConsumerIsEvictedWithReset() throws InterruptedException {
+        broadcaster = broadcaster(2, 16);
+        CountDownLatch unblock = new CountDownLatch(1);
+        emitters = () -> new RecordingEmitter(unblock);
+        RecordingEmitter slow = subscribe(7L, null);
+
+        // First event blocks inside send; the next two fill the buffer, the fourth overflows it
+        for (long id = 1; id <= 4; id++) {
+            publish(7L, id);
+        }
+
+        assertEquals(0, broadcaster.subscriberCount(7L));
+        unblock.countDown();
+        await(slow::isCompleted);
+        assertTrue(slow.hasReset());
+    }
+
+    @Test
+    void sweepRemovesChannelsWithoutSubscribersOnceHistoryExpires() throws InterruptedException {
+        broadcaster = broadcaster(8, 16);
+        emitters = () -> new RecordingEmitter(true);
+        subscribe(7L, null);
+        publish(7L, 1L);
+        // The failing emitter is dropped by its sender
+        await(() -> broadcaster.subscriberCount(7L) == 0);
+
+        broadcaster.sweep();
+        assertEquals(1, broadcaster.channelCount());
+
+        clock.addAndGet(60_001L);
+        broadcaster.sweep();
+        assertEquals(0, broadcaster.channelCount());
+    }
+
+    @Test
+    void sweepSendsHeartbeatToIdleSubscribers() throws InterruptedException {
+        broadcaster = broadcaster(8, 16);
+        RecordingEmitter idle = subscribe(7L, null);
+
+        broadcaster.sweep();
+
+        await(() -> idle.heartbeats() == 1);
+        assertEquals(0, idle.arquivoEvents());
+        assertEquals(1, broadcaster.subscriberCount(7L));
+    }
+
+    @Test
+    void heartbeatDetectsDeadClientsWithoutUploads() throws InterruptedException {
+        broadcaster = broadcaster(8, 16);
+        emitters = () -> new RecordingEmitter(true);
+        subscribe(7L, null);
+
+        broadcaster.sweep();
+        await(() -> broadcaster.subscriberCount(7L) == 0);
+
+        broadcaster.sweep();
+        assertEquals(0, broadcaster.channelCount());
+    }
+
+    @Test
+    void serializationFailureSkipsEventWithoutThrowing() throws InterruptedException {
+        ObjectMapper failing = new ObjectMapper() {
+            @Override
+            public String writeValueAsString(Object value) throws JsonProcessingException {
+                throw new JsonProcessingException("cannot serialize") { };
+            }
+        };
+        broadcaster = new ArquivoEventBroadcaster(failing, 8, 16, 60_000L, 0L, clock::get) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                return new RecordingEmitter();
+            }
+        };
+        RecordingEmitter subscriber = subscribe(7L, null);
+
+        publish(7L, 1L);
+        broadcaster.sweep();
+
+        // The heartbeat proves the sender ran; no arquivo event was queued before it
+        await(() -> subscriber.heartbeats() == 1);
+        assertEquals(0, subscriber.arquivoEvents());
+    }
+
+    @Test
+    void concurrentPublishesAreDeliveredOnceAndInOrder() throws InterruptedException {
+        broadcaster = broadcaster(10_000, 16);
+        RecordingEmitter subscriber = subscribe(7L, null);
+
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = t * 1_000L;
+            publishers.add(Thread.ofPlatform().start(() -> {
+                for (long i = 1; i <= 250; i++) {
+                    publish(7L, base + i);
+                }
+            }));
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        await(() -> subscriber.arquivoEvents() == 1_000);
+        List<Long> sequences = subscriber.ids().stream()
+            .map(id -> Long.parseLong(id.substring(id.lastIndexOf('-') + 1)))
+            .collect(Collectors.toList());
+        for (int i = 1; i < sequences.size(); i++) {
+            assertTrue(sequences.get(i - 1) < sequences.get(i), "events must arrive in publish order");
+        }
+    }
+
+    private ArquivoEventBroadcaster broadcaster(int subscriberBuffer, int historySize) {
+        return new ArquivoEventBroadcaster(new ObjectMapper().findAndRegisterModules(),
+            subscriberBuffer, historySize, 60_000L, 0L, clock::get) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                RecordingEmitter emitter = emitters.get();
+                created.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(Long codigoEscola, String lastEventId) {
+        return (RecordingEmitter) broadcaster.subscribe(codigoEscola, lastEventId);
+    }
+
+    private void publish(Long codigoEscola, Long id) {
+        Arquivo arquivo = new Arquivo();
+        arquivo.setId(id);
+        arquivo.setCodigoEscola(codigoEscola);
+        arquivo.setNomeArquivo("alunos-" + id + ".txt");
+        arquivo.setDataUpload(LocalDateTime.of(2024, 3, 10, 8, 0));
+        broadcaster.onArquivoSaved(new ArquivoSavedEvent(arquivo));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not reached in time");
+    }
+
+    /**
+     * Emitter that records the raw SSE text of each event instead of writing to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blockFirstArquivo;
+        private final boolean failSends;
+        private volatile boolean completed;
+
+        RecordingEmitter() {
+            this(null, false);
+        }
+
+        RecordingEmitter(CountDownLatch blockFirstArquivo) {
+            this(blockFirstArquivo, false);
+        }
+
+        RecordingEmitter(boolean failSends) {
+            this(null, failSends);
+        }
+
+        private RecordingEmitter(CountDownLatch blockFirstArquivo, boolean failSends) {
+            super(0L);
+            this.blockFirstArquivo = blockFirstArquivo;
+            this.failSends = failSends;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (completed) {
+                throw new IllegalStateException("emitter already completed");
+            }
+            if (failSends) {
+                throw new IOException("broken pipe");
+            }
+            String text = builder.build().stream()
+                .map(part -> String.valueOf(part.getData()))
+                .collect(Collectors.joining());
+            if (blockFirstArquivo != null && text.contains("event:" + ArquivoEventBroadcaster.EVENT_NAME)) {
+                try {
+                    blockFirstArquivo.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(text);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+
+        long arquivoEvents() {
+            return events.stream().filter(e -> e.contains("event:" + ArquivoEventBroadcaster.EVENT_NAME)).count();
+        }
+
+        long heartbeats() {
+            return events.stream().filter(e -> e.startsWith(":" + ArquivoEventBroadcaster.HEARTBEAT_COMMENT)).count();
+        }
+
+        boolean hasReset() {
+            return events.stream().anyMatch(e -> e.contains("event:" + ArquivoEventBroadcaster.RESET_EVENT));
+        }
+
+        List<String> ids() {
+            List<String> ids = new ArrayList<>();
+            for (String event : events) {
+                Matcher matcher = EVENT_ID.matcher(event);
+                if (matcher.find()) {
+                    ids.add(matcher.group(1));
+                }
+            }
+            return ids;
+        }
+
+        String lastId() {
+            List<String> ids = ids();
+            return ids.get(ids.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.meta3.java.scaffold.application.services.ingestion;
+
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRegistroRepository;
+import br.com.meta3.java.scaffold.infrastructure.repositories.ArquivoRegistroRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput benchmark of the ingestion pipeline on synthetic files of 10^6 records, both for
+ * parsing/classification alone and including the batched ArquivoRegistro inserts (embedded H2).
+ * Disabled by default; run with: ./mvnw test -Dtest=ArquivoIngestionPipelineBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+    "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Import(ArquivoRegistroRepositoryImpl.class)
+class ArquivoIngestionPipelineBenchmarkTest {
+
+    private static final int RECORDS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final long ARQUIVO_ID = 1L;
+
+    @Autowired
+    private ArquivoRegistroRepository arquivoRegistroRepository;
+
+    @Test
+    void singleWorkerThroughput(TestReporter reporter) {
+        benchmarkValidation(1, reporter);
+    }
+
+    @Test
+    void allCoresThroughput(TestReporter reporter) {
+        benchmarkValidation(Runtime.getRuntime().availableProcessors(), reporter);
+    }
+
+    @Test
+    void batchedInsertThroughput(TestReporter reporter) {
+        ArquivoIngestionPipeline pipeline = newPipeline(Runtime.getRuntime().availableProcessors());
+        try {
+            // One round only: each run inserts 10^6 rows inside the test transaction
+            AtomicLong outcomes = new AtomicLong();
+            long start = System.nanoTime();
+            IngestionResult result = pipeline.run(syntheticFile(RECORDS), chunk -> {
+                arquivoRegistroRepository.saveAll(chunk.toRegistros(ARQUIVO_ID));
+                outcomes.addAndGet(chunk.size());
+            });
+            long elapsed = System.nanoTime() - start;
+
+            assertCounters(result);
+            assertEquals(RECORDS, outcomes.get());
+            report(reporter, "ingestion.insert", Runtime.getRuntime().availableProcessors(), elapsed);
+        } finally {
+            pipeline.shutdown();
+        }
+    }
+
+    private void benchmarkValidation(int workers, TestReporter reporter) {
+        ArquivoIngestionPipeline pipeline = newPipeline(workers);
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                runOnce(pipeline, chunk -> { });
+            }
+
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                IngestionResult result = runOnce(pipeline, chunk -> { });
+                best = Math.min(best, System.nanoTime() - start);
+                assertCounters(result);
+            }
+            report(reporter, "ingestion.validation", workers, best);
+        } finally {
+            pipeline.shutdown();
+        }
+    }
+
+    private static ArquivoIngestionPipeline newPipeline(int workers) {
+        return new ArquivoIngestionPipeline(new StudentRecordValidator(), workers, 1000, 16);
+    }
+
+    private static IngestionResult runOnce(ArquivoIngestionPipeline pipeline, Consumer<ValidatedChunk> sink) {
+        AtomicLong outcomes = new AtomicLong();
+        IngestionResult result = pipeline.run(syntheticFile(RECORDS), chunk -> {
+            sink.accept(chunk);
+            outcomes.addAndGet(chunk.size());
+        });
+        assertEquals(RECORDS, outcomes.get());
+        return result;
+    }
+
+    private static void assertCounters(IngestionResult result) {
+        // Synthetic generator cycles apto, sem documento, com codigo SETPS and erro
+        assertEquals(RECORDS, result.quantidadeRegistro());
+        assertEquals(RECORDS / 4, result.aptos());
+        assertEquals(RECORDS / 4, result.semDocumento());
+        assertEquals(RECORDS / 4, result.comCodigoSetps());
+        assertEquals(RECORDS / 4, result.comErro());
+    }
+
+    private static void report(TestReporter reporter, String stage, int workers, long nanos) {
+        reporter.publishEntry(stage, String.format("workers=%d records=%d time=%.1f ms throughput=%.0f records/s",
+            workers, RECORDS, nanos / 1_000_000.0, RECORDS / (nanos / 1_000_000_000.0)));
+    }
+
+    /**
+     * Generates the file lazily in small blocks so the benchmark itself does not buffer 10^6 lines.
+     */
+    private static InputStream syntheticFile(int records) {
+        int blockSize = 10_000;
+        return new SequenceInputStream(new Enumeration<InputStream>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < records;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                StringBuilder block = new StringBuilder(blockSize * 48);
+                int end = Math.min(records, next + blockSize);
+                for (; next < end; next++) {
+                    block.append(syntheticLine(next)).append('\n');
+                }
+                return new ByteArrayInputStream(block.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+    private static String syntheticLine(int i) {
+        String nome = "ALUNO " + i;
+        return switch (i % 4) {
+            case 0 -> nome + ";01/02/2012;" + (10_000_000 + i) + ";";
+            case 1 -> nome + ";01/02/2012;;";
+            case 2 -> nome + ";01/02/2012;" + (10_000_000 + i) + ";SETPS" + i;
+            default -> nome + ";31/02/2012;" + (10_000_000 + i) + ";";
+        };
+    }
+}
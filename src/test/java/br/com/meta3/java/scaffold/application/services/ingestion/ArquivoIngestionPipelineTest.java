@@ -0,0 +1,167 @@
+package br.com.meta3.java.scaffold.application.services.ingestion;
+
+import br.com.meta3.java.scaffold.domain.entities.SituacaoRegistro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the ingestion pipeline counters, line numbering and failure handling.
+ */
+class ArquivoIngestionPipelineTest {
+
+    private ArquivoIngestionPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void countsOutcomesAndKeepsOriginalLineNumbers() {
+        pipeline = new ArquivoIngestionPipeline(new StudentRecordValidator(), 2, 2, 2);
+        String file = String.join("\n",
+            "ANA;01/02/2012;111;",
+            "",
+            "BIA;01/02/2012;;",
+            "   ",
+            "CAIO;01/02/2012;333;S1",
+            "quebrada");
+        Map<Long, SituacaoRegistro> byLinha = new HashMap<>();
+
+        IngestionResult result = pipeline.run(stream(file), chunk -> {
+            for (int i = 0; i < chunk.size(); i++) {
+                byLinha.put(chunk.linha(i), chunk.situacao(i));
+            }
+        });
+
+        assertEquals(new IngestionResult(4, 1, 1, 1, 1), result);
+        assertEquals(Map.of(
+            1L, SituacaoRegistro.APTO,
+            3L, SituacaoRegistro.SEM_DOCUMENTO,
+            5L, SituacaoRegistro.COM_CODIGO_SETPS,
+            6L, SituacaoRegistro.COM_ERRO), byLinha);
+    }
+
+    @Test
+    void emptyInputProducesZeroCounters() {
+        pipeline = new ArquivoIngestionPipeline(new StudentRecordValidator(), 2, 10, 2);
+
+        assertEquals(new IngestionResult(0, 0, 0, 0, 0), pipeline.run(stream(""), chunk -> { }));
+    }
+
+    @Test
+    void readerIOExceptionPropagates() throws InterruptedException {
+        pipeline = new ArquivoIngestionPipeline(new StudentRecordValidator(), 2, 1, 2);
+        InputStream failing = new InputStream() {
+            private final InputStream head = stream("ANA;01/02/2012;111;\n");
+
+            @Override
+            public int read() throws IOException {
+                int b = head.read();
+                if (b < 0) {
+                    throw new IOException("connection reset");
+                }
+                return b;
+            }
+        };
+
+        UncheckedIOException ex = assertThrows(UncheckedIOException.class,
+            () -> pipeline.run(failing, chunk -> { }));
+
+        assertEquals("connection reset", ex.getCause().getMessage());
+        awaitIdle();
+    }
+
+    @Test
+    void workerFailurePropagates() throws InterruptedException {
+        IllegalStateException boom = new IllegalStateException("validator bug");
+        pipeline = new ArquivoIngestionPipeline(new StudentRecordValidator() {
+            @Override
+            public void classify(String line, ValidatedChunk target, int index) {
+                throw boom;
+            }
+        }, 2, 1, 2);
+
+        assertSame(boom, assertThrows(IllegalStateException.class,
+            () -> pipeline.run(stream(lines(50)), chunk -> { })));
+        awaitIdle();
+    }
+
+    @Test
+    void workerErrorPropagatesInsteadOfHanging() throws InterruptedException {
+        StackOverflowError overflow = new StackOverflowError("deep recursion");
+        pipeline = new ArquivoIngestionPipeline(new StudentRecordValidator() {
+            @Override
+            public void classify(String line, ValidatedChunk target, int index) {
+                throw overflow;
+            }
+        }, 2, 1, 2);
+
+        assertSame(overflow, assertThrows(StackOverflowError.class,
+            () -> pipeline.run(stream(lines(50)), chunk -> { })));
+        awaitIdle();
+    }
+
+    @Test
+    void readerErrorPropagatesInsteadOfHanging() throws InterruptedException {
+        pipeline = new ArquivoIngestionPipeline(new StudentRecordValidator(), 2, 1, 2);
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new OutOfMemoryError("simulated");
+            }
+        };
+
+        assertThrows(OutOfMemoryError.class, () -> pipeline.run(failing, chunk -> { }));
+        awaitIdle();
+    }
+
+    @Test
+    void sinkFailureReleasesEveryPipelineThread() throws InterruptedException {
+        pipeline = new ArquivoIngestionPipeline(new StudentRecordValidator(), 4, 10, 2);
+        RuntimeException dbError = new RuntimeException("insert failed");
+
+        // Many more chunks than in-flight permits, so the reader is blocked when the sink fails
+        assertSame(dbError, assertThrows(RuntimeException.class,
+            () -> pipeline.run(stream(lines(10_000)), chunk -> {
+                throw dbError;
+            })));
+        awaitIdle();
+
+        // The shared pool is still usable by the next upload
+        assertEquals(10_000, pipeline.run(stream(lines(10_000)), chunk -> { }).quantidadeRegistro());
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!pipeline.isIdle() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(pipeline.isIdle(), "reader and worker threads should terminate after a failure");
+    }
+
+    private static String lines(int count) {
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            file.append("ALUNO ").append(i).append(";01/02/2012;").append(i).append(";\n");
+        }
+        return file.toString();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.meta3.java.scaffold.application.services.ingestion;
+
+import br.com.meta3.java.scaffold.domain.entities.ArquivoRegistro;
+import br.com.meta3.java.scaffold.domain.entities.SituacaoRegistro;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the classification of student file records.
+ */
+class StudentRecordValidatorTest {
+
+    private final StudentRecordValidator validator = new StudentRecordValidator();
+
+    @Test
+    void aptoWhenDocumentPresentAndNoSetpsCode() {
+        assertEquals(SituacaoRegistro.APTO, classify("MARIA;01/02/2012;12345;").situacao(0));
+    }
+
+    @Test
+    void semDocumentoWhenDocumentBlank() {
+        assertEquals(SituacaoRegistro.SEM_DOCUMENTO, classify("MARIA;01/02/2012; ;").situacao(0));
+    }
+
+    @Test
+    void setpsCodeTakesPrecedenceOverMissingDocument() {
+        assertEquals(SituacaoRegistro.COM_CODIGO_SETPS, classify("MARIA;01/02/2012;;S123").situacao(0));
+    }
+
+    @Test
+    void errorTakesPrecedenceOverSetpsCode() {
+        ValidatedChunk chunk = classify(";01/02/2012;;S123");
+
+        assertEquals(SituacaoRegistro.COM_ERRO, chunk.situacao(0));
+        assertEquals("nome is required", chunk.mensagem(0));
+    }
+
+    @Test
+    void wrongFieldCountIsError() {
+        ValidatedChunk chunk = classify("MARIA;01/02/2012;12345");
+
+        assertEquals(SituacaoRegistro.COM_ERRO, chunk.situacao(0));
+        assertTrue(chunk.mensagem(0).contains("found 3"));
+    }
+
+    @Test
+    void impossibleDateIsErrorNotClamped() {
+        assertEquals(SituacaoRegistro.COM_ERRO, classify("MARIA;31/02/2012;12345;").situacao(0));
+    }
+
+    @Test
+    void oversizedFieldIsTruncatedInMessage() {
+        String campo = "9".repeat(10_000);
+
+        ValidatedChunk chunk = classify("MARIA;" + campo + ";12345;");
+
+        assertEquals(SituacaoRegistro.COM_ERRO, chunk.situacao(0));
+        assertTrue(chunk.mensagem(0).startsWith("Invalid dataNascimento: 999"));
+        assertTrue(chunk.mensagem(0).length() <= ArquivoRegistro.MENSAGEM_LENGTH);
+    }
+
+    @Test
+    void futureDateIsError() {
+        assertEquals(SituacaoRegistro.COM_ERRO, classify("MARIA;01/01/2999;12345;").situacao(0));
+    }
+
+    @Test
+    void nonErrorOutcomesHaveNoMessage() {
+        assertNull(classify("MARIA;01/02/2012;12345;").mensagem(0));
+    }
+
+    private ValidatedChunk classify(String line) {
+        ValidatedChunk chunk = new ValidatedChunk(new long[] {1L});
+        validator.classify(line, chunk, 0);
+        return chunk;
+    }
+}
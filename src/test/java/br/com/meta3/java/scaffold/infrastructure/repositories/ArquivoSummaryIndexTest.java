@@ -0,0 +1,199 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.domain.entities.Arquivo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoResumo;
+import br.com.meta3.java.scaffold.domain.entities.ArquivoTotais;
+import br.com.meta3.java.scaffold.domain.repositories.ArquivoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the columnar Arquivo summary index.
+ */
+class ArquivoSummaryIndexTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 10);
+
+    private StubArquivoRepository repository;
+    private ArquivoSummaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StubArquivoRepository();
+        index = new ArquivoSummaryIndex(repository);
+    }
+
+    @Test
+    void dayBoundariesAreInclusive() {
+        rebuild(List.of(
+            arquivo(1L, 7L, DIA.minusDays(1).atTime(23, 59, 59, 999_999_999), 1),
+            arquivo(2L, 7L, DIA.atStartOfDay(), 1),
+            arquivo(3L, 7L, DIA.atTime(23, 59, 59, 999_000_000), 1),
+            arquivo(4L, 7L, DIA.plusDays(1).atStartOfDay(), 1)
+        ));
+
+        assertArrayEquals(new long[] {2L, 3L}, index.idsBySchoolAndDateRange(7L, DIA, DIA));
+        assertEquals(4, index.countBySchoolAndDateRange(7L, DIA.minusDays(1), DIA.plusDays(1)));
+        assertEquals(0, index.countBySchoolAndDateRange(7L, DIA.plusDays(2), DIA.plusDays(3)));
+    }
+
+    @Test
+    void equalTimestampsAreAllReturned() {
+        LocalDateTime mesmoInstante = DIA.atTime(10, 0);
+        rebuild(List.of(
+            arquivo(1L, 7L, mesmoInstante, 1),
+            arquivo(2L, 7L, mesmoInstante, 1)
+        ));
+        index.upsert(arquivo(3L, 7L, mesmoInstante, 1));
+
+        long[] ids = index.idsBySchoolAndDateRange(7L, DIA, DIA);
+        assertEquals(3, ids.length);
+        assertEquals(3, index.countBySchoolAndDateRange(7L, DIA, DIA));
+    }
+
+    @Test
+    void upsertMovesIdToAnotherSchool() {
+        rebuild(List.of(
+            arquivo(1L, 7L, DIA.atTime(8, 0), 10),
+            arquivo(2L, 7L, DIA.atTime(9, 0), 20)
+        ));
+
+        index.upsert(arquivo(1L, 8L, DIA.atTime(8, 0), 10));
+
+        assertArrayEquals(new long[] {2L}, index.idsBySchoolAndDateRange(7L, DIA, DIA));
+        assertArrayEquals(new long[] {1L}, index.idsBySchoolAndDateRange(8L, DIA, DIA));
+        assertEquals(2, index.snapshot().size());
+    }
+
+    @Test
+    void removingAfterMoveLeavesBothSchoolsConsistent() {
+        rebuild(List.of(
+            arquivo(1L, 7L, DIA.atTime(8, 0), 10),
+            arquivo(2L, 8L, DIA.atTime(9, 0), 20)
+        ));
+        index.upsert(arquivo(1L, 8L, DIA.atTime(10, 0), 10));
+
+        index.remove(1L);
+
+        assertEquals(1, index.snapshot().schoolCount());
+        assertArrayEquals(new long[] {2L}, index.idsBySchoolAndDateRange(8L, DIA, DIA));
+    }
+
+    @Test
+    void removingLastIdDropsTheSchool() {
+        rebuild(List.of(arquivo(1L, 7L, DIA.atTime(8, 0), 10)));
+
+        index.remove(1L);
+
+        assertEquals(0, index.snapshot().schoolCount());
+        assertEquals(ArquivoTotais.EMPTY, index.totalsBySchoolAndDateRange(7L, DIA, DIA));
+    }
+
+    @Test
+    void totalsSumCountersInRange() {
+        Arquivo semContadores = arquivo(3L, 7L, DIA.atTime(12, 0), 0);
+        semContadores.setQuantidadeRegistro(null);
+        semContadores.setAptos(null);
+        rebuild(List.of(
+            arquivo(1L, 7L, DIA.atTime(8, 0), 10),
+            arquivo(2L, 7L, DIA.atTime(9, 0), 20),
+            semContadores,
+            arquivo(4L, 7L, DIA.plusDays(1).atTime(9, 0), 1000)
+        ));
+
+        ArquivoTotais totais = index.totalsBySchoolAndDateRange(7L, DIA, DIA);
+
+        // arquivo(...) splits quantidadeRegistro evenly across the four outcomes; nulls count as zero
+        assertEquals(new ArquivoTotais(3, 30, 2 + 5, 2 + 5, 2 + 5, 2 + 5), totais);
+    }
+
+    @Test
+    void writesDuringReloadAreNotLost() {
+        repository.rows.add(arquivo(1L, 7L, DIA.atTime(8, 0), 10));
+        // Simulates an upload committed after listAllSummaries() has read the table
+        repository.onListAll = () -> index.upsert(arquivo(2L, 7L, DIA.atTime(9, 0), 10));
+
+        index.load();
+
+        assertTrue(index.isLoaded());
+        assertArrayEquals(new long[] {1L, 2L}, index.idsBySchoolAndDateRange(7L, DIA, DIA));
+    }
+
+    @Test
+    void failedLoadLeavesIndexUnloaded() {
+        repository.onListAll = () -> {
+            throw new IllegalStateException("database unavailable");
+        };
+
+        assertThrows(IllegalStateException.class, () -> index.load());
+
+        assertFalse(index.isLoaded());
+        // A write arriving later must not be queued for a reload that no longer runs
+        index.upsert(arquivo(1L, 7L, DIA.atTime(8, 0), 10));
+        assertEquals(1, index.countBySchoolAndDateRange(7L, DIA, DIA));
+    }
+
+    @Test
+    void footprintGrowsWithRows() {
+        rebuild(List.of(arquivo(1L, 7L, DIA.atTime(8, 0), 10)));
+        long one = index.memoryFootprintBytes();
+        index.upsert(arquivo(2L, 7L, DIA.atTime(9, 0), 10));
+
+        assertTrue(index.memoryFootprintBytes() > one);
+    }
+
+    private void rebuild(List<Arquivo> arquivos) {
+        index.rebuild(arquivos.stream().map(ArquivoResumo::of).toList());
+    }
+
+    private static Arquivo arquivo(Long id, Long codigoEscola, LocalDateTime dataUpload, int quantidadeRegistro) {
+        Arquivo arquivo = new Arquivo();
+        arquivo.setId(id);
+        arquivo.setCodigoEscola(codigoEscola);
+        arquivo.setDataUpload(dataUpload);
+        arquivo.setQuantidadeRegistro(quantidadeRegistro);
+        arquivo.setAptos(quantidadeRegistro / 4);
+        arquivo.setSemDocumento(quantidadeRegistro / 4);
+        arquivo.setComCodigoSetps(quantidadeRegistro / 4);
+        arquivo.setComErro(quantidadeRegistro / 4);
+        return arquivo;
+    }
+
+    private static final class StubArquivoRepository implements ArquivoRepository {
+        private final List<Arquivo> rows = new ArrayList<>();
+        private Runnable onListAll = () -> { };
+
+        @Override
+        public List<Arquivo> listBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ArquivoResumo> listAllSummaries() {
+            List<ArquivoResumo> snapshot = rows.stream().map(ArquivoResumo::of).toList();
+            onListAll.run();
+            return snapshot;
+        }
+
+        @Override
+        public ArquivoTotais totalsBySchoolAndDateRange(Long codigoEscola, LocalDate inicialData, LocalDate finalData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Arquivo save(Arquivo arquivo) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.meta3.java.scaffold.infrastructure.repositories;
+
+import br.com.meta3.java.scaffold.infrastructure.config.LegacyDatabaseProperties;
+import br.com.meta3.java.scaffold.infrastructure.legacy.LegacyDatabaseConnectionManager;
+import br.com.meta3.java.scaffold.infrastructure.legacy.LegacyShardRouter;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing and scatter/gather of legacy queries, with in-memory H2 databases standing in for shards.
+ */
+class SQLExecutorImplShardTest {
+
+    private JdbcDataSource defaultDataSource;
+    private LegacyShardRouter router;
+    private SQLExecutorImpl sqlExecutor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Unpooled, like the Oracle / SQL Server DataSource; the router pools it as the default shard
+        defaultDataSource = new JdbcDataSource();
+        defaultDataSource.setURL("jdbc:h2:mem:legacy_default;DB_CLOSE_DELAY=-1");
+        defaultDataSource.setUser("sa");
+
+        // norte owns 1..99 by range, sul owns 100..199 by range plus school 500 by list,
+        // leste owns 1000..9999 by range
+        router = new LegacyShardRouter(defaultDataSource, 2, List.of(
+            shard("norte", range(1L, 99L)),
+            shard("sul", range(100L, 199L), 500L),
+            shard("leste", range(1000L, 9999L))
+        ));
+        sqlExecutor = new SQLExecutorImpl(new LegacyDatabaseConnectionManager(router), 30);
+
+        seed(router.dataSource(LegacyShardRouter.DEFAULT_SHARD), "default", 900L);
+        seed(router.dataSource("norte"), "norte", 10L, 20L);
+        seed(router.dataSource("sul"), "sul", 150L, 500L);
+        seed(router.dataSource("leste"), "leste", 1000L, 1999L, 2000L, 3499L);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (String shard : List.of(LegacyShardRouter.DEFAULT_SHARD, "norte", "sul", "leste")) {
+            DataSource dataSource = router.dataSource(shard);
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+        }
+        router.close();
+    }
+
+    @Test
+    void routesSchoolToOwningShard() {
+        assertEquals("norte", router.shardFor(42L));
+        assertEquals("sul", router.shardFor(100L));
+        assertEquals("sul", router.shardFor(500L));
+        assertEquals(LegacyShardRouter.DEFAULT_SHARD, router.shardFor(200L));
+
+        List<Object[]> rows = sqlExecutor.executeNativeQueryForSchool(150L,
+            "SELECT shard, codigo_escola FROM arquivo_legado WHERE codigo_escola = ?", 150L);
+
+        assertEquals(1, rows.size());
+        assertEquals("sul", rows.get(0)[0]);
+    }
+
+    @Test
+    void scattersMultiSchoolQueryAndGathersRowsPerShard() {
+        Map<String, List<Object[]>> rows = sqlExecutor.executeNativeQueryForSchools(
+            List.of(10L, 20L, 500L, 900L, 150L), "codigo_escola",
+            "SELECT shard, codigo_escola FROM arquivo_legado WHERE {escolas} AND aptos >= ?", 0);
+
+        assertEquals(Set.of("norte", "sul", LegacyShardRouter.DEFAULT_SHARD), rows.keySet());
+        Set<String> found = rows.values().stream()
+            .flatMap(List::stream)
+            .map(row -> row[0] + ":" + ((Number) row[1]).longValue())
+            .collect(Collectors.toSet());
+        assertEquals(Set.of("norte:10", "norte:20", "sul:150", "sul:500", "default:900"), found);
+    }
+
+    @Test
+    void aggregatesOverMoreSchoolsThanOracleInListLimitStayWhole() {
+        // 2500 schools on one shard: one statement with three OR-ed IN lists, so COUNT is not split
+        List<Long> escolas = LongStream.rangeClosed(1000L, 3499L).boxed().collect(Collectors.toList());
+
+        Map<String, List<Object[]>> rows = sqlExecutor.executeNativeQueryForSchools(escolas, "codigo_escola",
+            "SELECT COUNT(*) FROM arquivo_legado WHERE {escolas}");
+
+        assertEquals(1, rows.get("leste").size());
+        assertEquals(4L, ((Number) rows.get("leste").get(0)[0]).longValue());
+    }
+
+    @Test
+    void inPredicateChunksAtOracleLimit() {
+        List<Long> escolas = LongStream.rangeClosed(1L, 2500L).boxed().collect(Collectors.toList());
+
+        String predicate = SQLExecutorImpl.inPredicate("a.codigo_escola", escolas);
+
+        assertEquals(3, predicate.split(" OR ").length);
+        assertTrue(predicate.startsWith("(a.codigo_escola IN (1, 2,"));
+        assertTrue(predicate.endsWith(", 2500))"));
+    }
+
+    @Test
+    void rejectsUnsafeColumnName() {
+        assertThrows(IllegalArgumentException.class, () -> sqlExecutor.executeNativeQueryForSchools(
+            List.of(10L), "codigo_escola) OR (1=1", "SELECT * FROM arquivo_legado WHERE {escolas}"));
+    }
+
+    @Test
+    void failingShardFailsTheWholeQuery() throws SQLException {
+        try (Connection connection = router.dataSource("sul").getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE arquivo_legado");
+        }
+
+        assertThrows(DataAccessResourceFailureException.class, () -> sqlExecutor.executeNativeQueryForSchools(
+            List.of(10L, 150L, 900L), "codigo_escola",
+            "SELECT shard, codigo_escola FROM arquivo_legado WHERE {escolas}"));
+    }
+
+    @Test
+    void rejectsOverlappingRanges() {
+        assertThrows(IllegalArgumentException.class, () -> new LegacyShardRouter(defaultDataSource, 2, List.of(
+            shard("a", range(1L, 50L)),
+            shard("b", range(40L, 60L))
+        )));
+    }
+
+    private static LegacyDatabaseProperties.Shard shard(String name, LegacyDatabaseProperties.Range range, Long... escolas) {
+        LegacyDatabaseProperties.Shard shard = new LegacyDatabaseProperties.Shard();
+        shard.setName(name);
+        shard.setUrl("jdbc:h2:mem:legacy_" + name + ";DB_CLOSE_DELAY=-1");
+        shard.setUsername("sa");
+        shard.setMaximumPoolSize(2);
+        shard.getRanges().add(range);
+        shard.getEscolas().addAll(List.of(escolas));
+        return shard;
+    }
+
+    private static LegacyDatabaseProperties.Range range(Long from, Long to) {
+        LegacyDatabaseProperties.Range range = new LegacyDatabaseProperties.Range();
+        range.setFrom(from);
+        range.setTo(to);
+        return range;
+    }
+
+    private static void seed(DataSource dataSource, String shard, Long... escolas) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE arquivo_legado (shard VARCHAR(20), codigo_escola BIGINT, aptos INT)");
+            for (Long codigoEscola : escolas) {
+                statement.execute("INSERT INTO arquivo_legado VALUES ('" + shard + "', " + codigoEscola + ", 1)");
+            }
+        }
+    }
+}